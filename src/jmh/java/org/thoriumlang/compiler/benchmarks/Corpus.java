@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.benchmarks;
+
+/**
+ * Synthetic sources of scalable size.
+ */
+public enum Corpus {
+    /**
+     * A class with {@code size} methods, each one declaring values and referencing an attribute.
+     */
+    METHODS {
+        @Override
+        public String generate(int size) {
+            StringBuilder sb = new StringBuilder()
+                    .append("use org.thoriumlang.Object;\n")
+                    .append("use org.thoriumlang.Number;\n")
+                    .append("use org.thoriumlang.Boolean;\n\n")
+                    .append("class Methods {\n")
+                    .append("    var counter: Number = 0;\n");
+
+            for (int i = 0; i < size; i++) {
+                sb.append(String.format(
+                        "    public method%d(p: Number, q: (Object & Number) | Boolean): Number {%n" +
+                                "        val local: Number = p;%n" +
+                                "        val other = q;%n" +
+                                "        local;%n" +
+                                "        return counter;%n" +
+                                "    }%n",
+                        i
+                ));
+            }
+
+            return sb.append("}\n").toString();
+        }
+    },
+    /**
+     * A type preceded by a chain of {@code size} use statements.
+     */
+    USES {
+        @Override
+        public String generate(int size) {
+            StringBuilder sb = new StringBuilder();
+
+            for (int i = 0; i < size; i++) {
+                sb.append(String.format("use org.thoriumlang.Object: Object%d;%n", i));
+            }
+
+            sb.append("\ntype Uses {\n");
+            for (int i = 0; i < size; i++) {
+                sb.append(String.format("    method%d(o: Object%d): Object%d;%n", i, i, (i + 1) % size));
+            }
+
+            return sb.append("}\n").toString();
+        }
+    };
+
+    public abstract String generate(int size);
+}
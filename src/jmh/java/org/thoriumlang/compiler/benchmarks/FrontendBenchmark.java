@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.benchmarks;
+
+import org.antlr.v4.runtime.Token;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thoriumlang.compiler.antlr.ThoriumParser;
+import org.thoriumlang.compiler.ast.nodes.Root;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lexer, the parser and the construction of the AST from the parse tree.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FrontendBenchmark {
+    @Param({"METHODS", "USES"})
+    private Corpus corpus;
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private String source;
+    private ThoriumParser.RootContext parseTree;
+
+    @Setup
+    public void setup() {
+        source = corpus.generate(size);
+        parseTree = Pipeline.parse(source);
+    }
+
+    @Benchmark
+    public List<? extends Token> lexer() {
+        return Pipeline.lexer(source).getAllTokens();
+    }
+
+    @Benchmark
+    public ThoriumParser.RootContext parser() {
+        return Pipeline.parse(source);
+    }
+
+    @Benchmark
+    public Root astConstruction() {
+        return new Pipeline().build(parseTree);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.benchmarks;
+
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thoriumlang.compiler.antlr.ThoriumParser;
+import org.thoriumlang.compiler.antlr4.ParsingStrategy;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures the parsing of all the sources of the integration tests corpus with each {@link ParsingStrategy}, as well
+ * as the parsing of the synthetic {@link Corpus#METHODS} source, which uses the union and intersection types. The
+ * sources are lexed during the setup, so that only the parser is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParsingBenchmark {
+    private static final String IT_CORPUS = "/org/thoriumlang/compiler/it/";
+
+    @Param({"LL", "SLL_THEN_LL"})
+    private ParsingStrategy strategy;
+
+    private List<CommonTokenStream> itSources;
+    private CommonTokenStream methodsSource;
+
+    @Setup
+    public void setup() throws IOException, URISyntaxException {
+        Path folder = Paths.get(ParsingBenchmark.class.getResource(IT_CORPUS).toURI());
+        itSources = new ArrayList<>();
+        try (Stream<Path> files = Files.list(folder)) {
+            for (Path file : files.filter(p -> p.toString().endsWith(".th")).collect(Collectors.toList())) {
+                itSources.add(tokens(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)));
+            }
+        }
+        methodsSource = tokens(Corpus.METHODS.generate(100));
+    }
+
+    private static CommonTokenStream tokens(String source) {
+        CommonTokenStream tokens = new CommonTokenStream(Pipeline.lexer(source));
+        tokens.fill();
+        return tokens;
+    }
+
+    private ThoriumParser.RootContext parse(CommonTokenStream tokens) {
+        tokens.seek(0);
+        return strategy.parse(tokens, new BaseErrorListener());
+    }
+
+    @Benchmark
+    public int itCorpus() {
+        int count = 0;
+        for (CommonTokenStream source : itSources) {
+            count += parse(source).getChildCount();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public ThoriumParser.RootContext methods() {
+        return parse(methodsSource);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.benchmarks;
+
+import org.thoriumlang.compiler.ast.algorithms.symbolicnamechecking.SymbolicNameChecker;
+import org.thoriumlang.compiler.ast.algorithms.typechecking.TypeChecker;
+import org.thoriumlang.compiler.ast.algorithms.typeinference.TypeResolver;
+import org.thoriumlang.compiler.ast.nodes.Root;
+import org.thoriumlang.compiler.ast.visitor.RelativesInjectionVisitor;
+import org.thoriumlang.compiler.ast.visitor.SymbolTableInitializationVisitor;
+import org.thoriumlang.compiler.ast.visitor.TypeFlatteningVisitor;
+import org.thoriumlang.compiler.input.loaders.JavaRTClassLoader;
+import org.thoriumlang.compiler.input.loaders.ThoriumRTClassLoader;
+
+import java.util.Arrays;
+
+/**
+ * The passes applied to an AST once built, in the order they are applied.
+ */
+public enum Pass {
+    TYPE_FLATTENING {
+        @Override
+        Root apply(Pipeline pipeline, Root root) {
+            return (Root) root.accept(new TypeFlatteningVisitor(pipeline.nodeIdGenerator()));
+        }
+    },
+    RELATIVES_INJECTION {
+        @Override
+        Root apply(Pipeline pipeline, Root root) {
+            return (Root) root.accept(new RelativesInjectionVisitor());
+        }
+    },
+    SYMBOL_TABLE_INITIALIZATION {
+        @Override
+        Root apply(Pipeline pipeline, Root root) {
+            return (Root) root.accept(new SymbolTableInitializationVisitor(
+                    pipeline.symbolTable().createScope(Pipeline.NAMESPACE)
+            ));
+        }
+    },
+    TYPE_CHECKER {
+        @Override
+        Root apply(Pipeline pipeline, Root root) {
+            return new TypeChecker(
+                    pipeline.nodeIdGenerator(),
+                    Arrays.asList(
+                            new ThoriumRTClassLoader(),
+                            new JavaRTClassLoader()
+                    )
+            ).walk(root).left();
+        }
+    },
+    SYMBOLIC_NAME_CHECKER {
+        @Override
+        Root apply(Pipeline pipeline, Root root) {
+            return new SymbolicNameChecker().walk(root).left();
+        }
+    },
+    TYPE_RESOLVER {
+        @Override
+        Root apply(Pipeline pipeline, Root root) {
+            return new TypeResolver(pipeline.nodeIdGenerator()).walk(root).left();
+        }
+    };
+
+    abstract Root apply(Pipeline pipeline, Root root);
+}
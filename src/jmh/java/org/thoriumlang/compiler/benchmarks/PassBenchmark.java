@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thoriumlang.compiler.antlr.ThoriumParser;
+import org.thoriumlang.compiler.ast.nodes.Root;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each pass applied to the AST. As passes alter the AST they are applied to, each invocation gets a fresh
+ * AST on which all the previous passes were applied.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PassBenchmark {
+    @Param({"METHODS", "USES"})
+    private Corpus corpus;
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    @Param({
+            "TYPE_FLATTENING",
+            "RELATIVES_INJECTION",
+            "SYMBOL_TABLE_INITIALIZATION",
+            "TYPE_CHECKER",
+            "SYMBOLIC_NAME_CHECKER",
+            "TYPE_RESOLVER"
+    })
+    private Pass pass;
+
+    private ThoriumParser.RootContext parseTree;
+    private Pipeline pipeline;
+    private Root root;
+
+    @Setup(Level.Trial)
+    public void parse() {
+        parseTree = Pipeline.parse(corpus.generate(size));
+    }
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        pipeline = new Pipeline();
+        root = pipeline.buildUntil(parseTree, pass);
+    }
+
+    @Benchmark
+    public Root pass() {
+        return pass.apply(pipeline, root);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.benchmarks;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.thoriumlang.compiler.antlr.ThoriumLexer;
+import org.thoriumlang.compiler.antlr.ThoriumParser;
+import org.thoriumlang.compiler.antlr4.RootVisitor;
+import org.thoriumlang.compiler.ast.nodes.NodeIdGenerator;
+import org.thoriumlang.compiler.ast.nodes.Root;
+import org.thoriumlang.compiler.symbols.SymbolTable;
+
+/**
+ * Runs the compilation steps the same way {@link org.thoriumlang.compiler.ast.AST} does, one at a time.
+ */
+public class Pipeline {
+    static final String NAMESPACE = "benchmarks";
+
+    private final NodeIdGenerator nodeIdGenerator;
+    private final SymbolTable symbolTable;
+
+    public Pipeline() {
+        this.nodeIdGenerator = new NodeIdGenerator();
+        this.symbolTable = new SymbolTable();
+    }
+
+    public static ThoriumLexer lexer(String source) {
+        ThoriumLexer lexer = new ThoriumLexer(CharStreams.fromString(source));
+        lexer.removeErrorListeners();
+        return lexer;
+    }
+
+    public static ThoriumParser.RootContext parse(String source) {
+        ThoriumParser parser = new ThoriumParser(new CommonTokenStream(lexer(source)));
+        parser.removeErrorListeners();
+        return parser.root();
+    }
+
+    public Root build(ThoriumParser.RootContext parseTree) {
+        return (Root) parseTree.accept(new RootVisitor(nodeIdGenerator, NAMESPACE));
+    }
+
+    /**
+     * Builds the AST and applies all the passes preceding the given one.
+     */
+    public Root buildUntil(ThoriumParser.RootContext parseTree, Pass pass) {
+        Root root = build(parseTree);
+        for (Pass previousPass : Pass.values()) {
+            if (previousPass == pass) {
+                break;
+            }
+            root = previousPass.apply(this, root);
+        }
+        return root;
+    }
+
+    NodeIdGenerator nodeIdGenerator() {
+        return nodeIdGenerator;
+    }
+
+    SymbolTable symbolTable() {
+        return symbolTable;
+    }
+}
@@ -7,32 +7,52 @@ import org.thoriumlang.compiler.api.errors.SemanticError;
 import org.thoriumlang.compiler.collections.Lists;
 import org.thoriumlang.compiler.output.html.HtmlWalker;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
+/**
+ * Writes an HTML view of each source's AST to {@code <directory>/<top level name>.html}.
+ */
 public class HtmlOutputPlugin implements Plugin {
+    private final Path directory;
+
+    public HtmlOutputPlugin(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "directory cannot be null");
+    }
+
     @Override
     public List<CompilationError> execute(CompilationContext context) {
         context.root().ifPresent(root -> {
-            try (FileOutputStream fos = new FileOutputStream("/tmp/" + root.getTopLevelNode().getName() + ".html")) {
-                fos.write(
-                        new HtmlWalker(
-                                root,
-                                context.errors()
-                                        .stream()
-                                        .filter(e -> e instanceof SemanticError) // TODO use a visitor instead?
-                                        .map(e -> (SemanticError) e)
-                                        .collect(Collectors.toMap(
-                                                SemanticError::getNode,
-                                                Collections::singletonList,
-                                                Lists::merge
-                                        ))
-                        ).walk().getBytes()
-                );
+            try {
+                Files.createDirectories(directory);
+                try (FileChannel channel = FileChannel.open(
+                        directory.resolve(root.getTopLevelNode().getName() + ".html"),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE
+                )) {
+                    new HtmlWalker(
+                            root,
+                            context.errors()
+                                    .stream()
+                                    .filter(e -> e instanceof SemanticError) // TODO use a visitor instead?
+                                    .map(e -> (SemanticError) e)
+                                    .collect(Collectors.toMap(
+                                            SemanticError::getNode,
+                                            Collections::singletonList,
+                                            Lists::merge
+                                    ))
+                    ).walk(channel, StandardCharsets.UTF_8);
+                }
             }
             catch (IOException e) {
                 throw new UncheckedIOException(e);
@@ -40,4 +60,9 @@ public class HtmlOutputPlugin implements Plugin {
         });
         return Collections.emptyList();
     }
+
+    @Override
+    public boolean isAsynchronous() {
+        return true;
+    }
 }
@@ -15,25 +15,54 @@
  */
 package org.thoriumlang.compiler;
 
+import org.thoriumlang.compiler.api.AsyncCompilationListener;
+import org.thoriumlang.compiler.api.BuildCache;
 import org.thoriumlang.compiler.api.CompilationContext;
 import org.thoriumlang.compiler.api.CompilationListener;
 import org.thoriumlang.compiler.api.Compiler;
 import org.thoriumlang.compiler.api.Event;
+import org.thoriumlang.compiler.api.FileBuildCache;
+import org.thoriumlang.compiler.api.NoopBuildCache;
+import org.thoriumlang.compiler.api.Plugin;
 import org.thoriumlang.compiler.api.errors.CompilationError;
+import org.thoriumlang.compiler.daemon.Daemon;
 import org.thoriumlang.compiler.input.Source;
 import org.thoriumlang.compiler.input.SourceFiles;
+import org.thoriumlang.compiler.input.loaders.TypeLoaderCache;
+import org.thoriumlang.compiler.output.metrics.PhaseMetricsPlugin;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @SuppressWarnings("squid:S106")
 public class Main {
-    public static void main(String[] args) throws URISyntaxException {
-        new Main().compile();
+    private static final int PLUGIN_THREADS = 2;
+
+    public static void main(String[] args) throws URISyntaxException, IOException {
+        if (args.length > 0 && args[0].equals("--daemon")) {
+            new Main().daemon(args.length > 1 ? Integer.parseInt(args[1]) : 0);
+        }
+        else if (args.length > 1 && args[0].equals("--cache")) {
+            new Main().compile(new FileBuildCache(Paths.get(args[1])));
+        }
+        else {
+            new Main().compile(new NoopBuildCache());
+        }
+    }
+
+    private void daemon(int port) throws IOException {
+        try (Daemon daemon = new Daemon(port, plugins(), Runnable::run)) {
+            System.out.println(String.format("Listening on port %d", daemon.getPort()));
+            daemon.serve();
+        }
     }
 
-    private void compile() throws URISyntaxException {
+    private void compile(BuildCache buildCache) throws URISyntaxException {
         CompilationListener listener = new CompilationListener() {
             @Override
             public void onCompilationStarted() {
@@ -69,10 +98,28 @@ public class Main {
 
         };
 
-        new Compiler(listener, Arrays.asList(
+        ExecutorService pluginExecutor = Executors.newFixedThreadPool(PLUGIN_THREADS);
+        try (AsyncCompilationListener asyncListener = new AsyncCompilationListener(listener)) {
+            new Compiler(
+                    asyncListener,
+                    plugins(),
+                    Runnable::run,
+                    pluginExecutor,
+                    buildCache,
+                    new TypeLoaderCache()
+            ).compile(new SourceFiles(Paths.get(Main.class.getResource("/").toURI())));
+        }
+        finally {
+            pluginExecutor.shutdown();
+        }
+    }
+
+    private List<Plugin> plugins() {
+        return Arrays.asList(
                 new CustomEventPlugin(),
                 new NodesCountPlugin(),
-                new HtmlOutputPlugin()
-        )).compile(new SourceFiles(Paths.get(Main.class.getResource("/").toURI())));
+                new HtmlOutputPlugin(Paths.get("/tmp")),
+                new PhaseMetricsPlugin(Paths.get("/tmp"))
+        );
     }
 }
@@ -3,7 +3,7 @@ package org.thoriumlang.compiler;
 import org.thoriumlang.compiler.api.CompilationContext;
 import org.thoriumlang.compiler.api.Plugin;
 import org.thoriumlang.compiler.api.errors.CompilationError;
-import org.thoriumlang.compiler.ast.visitor.NodesMatchingVisitor;
+import org.thoriumlang.compiler.ast.visitor.NodesScanningVisitor;
 
 import java.util.Collections;
 import java.util.List;
@@ -13,7 +13,7 @@ public class NodesCountPlugin implements Plugin {
     public List<CompilationError> execute(CompilationContext context) {
         context.root().ifPresent(root -> context.put(
                 Count.class,
-                new Count(new NodesMatchingVisitor(n -> true).visit(root).size())
+                new Count(NodesScanningVisitor.count(root, n -> true))
         ));
 
         return Collections.emptyList();
@@ -15,14 +15,17 @@
  */
 package org.thoriumlang.compiler.antlr4;
 
+import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.Token;
 import org.thoriumlang.compiler.ast.SourcePositionProvider;
+import org.thoriumlang.compiler.ast.context.LineIndex;
 import org.thoriumlang.compiler.ast.context.SourcePosition;
 import org.thoriumlang.compiler.ast.nodes.Node;
 
-import java.util.Arrays;
-
 public class Antlr4SourcePositionProvider implements SourcePositionProvider<Token> {
+    private CharStream indexedStream;
+    private LineIndex lineIndex;
+
     @Override
     public <T extends Node> T provide(T node, Token firstToken, Token lastToken) {
         node.getContext().put(
@@ -36,10 +39,17 @@ public class Antlr4SourcePositionProvider implements SourcePositionProvider<Toke
                                 lastToken.getLine(),
                                 lastToken.getCharPositionInLine() + lastToken.getText().length() + 1
                         ),
-                        Arrays.asList(firstToken.getInputStream().toString().split("\n"))
-                                .subList(firstToken.getLine() - 1, lastToken.getLine())
+                        lineIndex(firstToken.getInputStream())
                 )
         );
         return node;
     }
+
+    private LineIndex lineIndex(CharStream stream) {
+        if (stream != indexedStream) {
+            indexedStream = stream;
+            lineIndex = LineIndex.of(SourceLines.text(stream));
+        }
+        return lineIndex;
+    }
 }
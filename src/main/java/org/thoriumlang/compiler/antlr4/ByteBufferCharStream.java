@@ -0,0 +1,197 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.antlr4;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CodePointBuffer;
+import org.antlr.v4.runtime.CodePointCharStream;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * {@link CharStream} reading an ASCII text straight from a {@link ByteBuffer}, typically the content of a file, without
+ * copying it. It is also a {@link CharSequence}, so that the lines of the source can be read back from the same
+ * buffer. Use {@link #of(ByteBuffer, String)} to create a {@link CharStream} from an UTF-8 text.
+ */
+public class ByteBufferCharStream implements CharStream, CharSequence {
+    private static final long NON_ASCII_MASK = 0x8080808080808080L;
+
+    private final ByteBuffer buffer;
+    private final String name;
+    private final int size;
+    private int position;
+
+    private ByteBufferCharStream(ByteBuffer buffer, String name) {
+        this.buffer = buffer;
+        this.name = name;
+        this.size = buffer.limit();
+    }
+
+    /**
+     * Creates a {@link CharStream} from an UTF-8 text. When the text is ASCII, which is the common case, the stream
+     * reads the buffer directly; otherwise the text is decoded once, straight from the buffer.
+     *
+     * @param buffer the UTF-8 text, from index 0 to the limit of the buffer.
+     * @param name   the name of the source.
+     * @return the stream.
+     */
+    public static CharStream of(ByteBuffer buffer, String name) {
+        Objects.requireNonNull(buffer, "buffer cannot be null");
+        Objects.requireNonNull(name, "name cannot be null");
+
+        if (isAscii(buffer)) {
+            return new ByteBufferCharStream(buffer, name);
+        }
+
+        try {
+            CharBuffer chars = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(buffer.duplicate());
+            CodePointBuffer.Builder codePoints = CodePointBuffer.builder(chars.remaining());
+            codePoints.append(chars);
+            return CodePointCharStream.fromBuffer(codePoints.build(), name);
+        }
+        catch (CharacterCodingException e) {
+            // cannot happen, errors are replaced
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isAscii(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        int i = 0;
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            if ((buffer.getLong(i) & NON_ASCII_MASK) != 0) {
+                return false;
+            }
+        }
+        for (; i < limit; i++) {
+            if (buffer.get(i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void consume() {
+        if (position >= size) {
+            throw new IllegalStateException("cannot consume EOF");
+        }
+        position++;
+    }
+
+    @Override
+    public int LA(int i) {
+        int offset;
+        if (i > 0) {
+            offset = position + i - 1;
+        }
+        else if (i < 0) {
+            offset = position + i;
+        }
+        else {
+            return 0;
+        }
+
+        if (offset < 0 || offset >= size) {
+            return IntStream.EOF;
+        }
+        return buffer.get(offset);
+    }
+
+    @Override
+    public int mark() {
+        return -1;
+    }
+
+    @Override
+    public void release(int marker) {
+        // nothing to release, the whole text is available
+    }
+
+    @Override
+    public int index() {
+        return position;
+    }
+
+    @Override
+    public void seek(int index) {
+        position = index;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String getSourceName() {
+        return name.isEmpty() ? IntStream.UNKNOWN_SOURCE_NAME : name;
+    }
+
+    @Override
+    public String getText(Interval interval) {
+        int start = Math.max(interval.a, 0);
+        int stop = Math.min(interval.b, size - 1);
+        if (start > stop) {
+            return "";
+        }
+        return text(start, stop + 1);
+    }
+
+    @Override
+    public int length() {
+        return size;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        return (char) buffer.get(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > size || start > end) {
+            throw new IndexOutOfBoundsException(String.format("[%d, %d[ not in [0, %d]", start, end, size));
+        }
+        return text(start, end);
+    }
+
+    private String text(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public String toString() {
+        return text(0, size);
+    }
+}
@@ -1,6 +1,7 @@
 package org.thoriumlang.compiler.antlr4;
 
 import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Recognizer;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
@@ -9,9 +10,11 @@ import org.thoriumlang.compiler.ast.SyntaxErrorListener;
 
 public class LexerErrorListener extends BaseErrorListener {
     private final SyntaxErrorListener listener;
+    private final SourceLines sourceLines;
 
     public LexerErrorListener(SyntaxErrorListener listener) {
         this.listener = listener;
+        this.sourceLines = new SourceLines();
     }
 
     @Override
@@ -28,9 +31,7 @@ public class LexerErrorListener extends BaseErrorListener {
                 line,
                 charPositionInLine,
                 1,
-                recognizer.getInputStream()
-                        .toString()
-                        .split("\n")[line - 1],
+                sourceLines.line((CharStream) recognizer.getInputStream(), line),
                 e
         ));
     }
@@ -15,9 +15,11 @@ import java.util.List;
 
 public class ParserErrorListener extends BaseErrorListener {
     private final SyntaxErrorListener listener;
+    private final SourceLines sourceLines;
 
     public ParserErrorListener(SyntaxErrorListener listener) {
         this.listener = listener;
+        this.sourceLines = new SourceLines();
     }
 
     @Override
@@ -34,11 +36,10 @@ public class ParserErrorListener extends BaseErrorListener {
                 line,
                 charPositionInLine,
                 Math.max(1, ((Token) offendingSymbol).getStopIndex() - ((Token) offendingSymbol).getStartIndex() + 1),
-                ((CommonTokenStream) recognizer.getInputStream())
-                        .getTokenSource()
-                        .getInputStream()
-                        .toString()
-                        .split("\n")[line - 1],
+                sourceLines.line(
+                        ((CommonTokenStream) recognizer.getInputStream()).getTokenSource().getInputStream(),
+                        line
+                ),
                 e
         ));
     }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.antlr4;
+
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.thoriumlang.compiler.antlr.ThoriumLexer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Builds the prediction DFA shared by all the parsers of the JVM, by parsing sources using most of the grammar, and
+ * in particular the nested type specifications that are the most expensive to predict. Later parsings start with a
+ * warm DFA. The DFA lives as long as the JVM: a daemon only needs to warm it up once.
+ */
+public class ParserWarmup {
+    private static final AtomicBoolean WARM = new AtomicBoolean(false);
+
+    static final String[] SOURCES = {
+            "use org.thoriumlang.Object;\n" +
+            "use org.thoriumlang.Number: N;\n" +
+            "use org.thoriumlang.*;\n" +
+            "\n" +
+            "public class Warmup[T, U] : Object & (Type[T] | U?) & ((A & B) | (C & D)) {\n" +
+            "    var a: (A & (B | C)) | ((D & E) | F[T, U]) = 1;\n" +
+            "    val b: ((A | B)?) = none;\n" +
+            "    val c: (T, U): (A & B) = (p: T, q: U): (A & B) => p;\n" +
+            "    d = \"d\";\n" +
+            "\n" +
+            "    public method[V](p: (A | B) & C, q: ((A & B) | (C & D))?, r: () : V): (V | N) {\n" +
+            "        val x: A = this.a[T](1).b?.c(true, false);\n" +
+            "        var y = val z: (A | B) = p;\n" +
+            "        y = (x);\n" +
+            "        this.a = Class[V]();\n" +
+            "        () : V => none;\n" +
+            "        return r();\n" +
+            "    }\n" +
+            "\n" +
+            "    private other(): N {\n" +
+            "        return 1;\n" +
+            "    }\n" +
+            "}\n",
+            "use org.thoriumlang.{Object, Number: N};\n" +
+            "\n" +
+            "namespace type Type[T] : ((A & B) | C) & D {\n" +
+            "    method(p: ((A | B) & (C | D)) | (E & F)): (A | B) & C;\n" +
+            "    other[U](p: (T): U): T?;\n" +
+            "}\n"
+    };
+
+    private ParserWarmup() {
+        // nothing
+    }
+
+    /**
+     * Warms the prediction DFA up, unless it was already done.
+     */
+    public static void warmUp() {
+        if (!WARM.compareAndSet(false, true)) {
+            return;
+        }
+
+        for (String source : SOURCES) {
+            // both strategies, so that the DFA states reached by the SLL and the LL predictions are all built
+            for (ParsingStrategy strategy : ParsingStrategy.values()) {
+                ThoriumLexer lexer = new ThoriumLexer(CharStreams.fromString(source));
+                lexer.removeErrorListeners();
+                strategy.parse(new CommonTokenStream(lexer), new BaseErrorListener());
+            }
+        }
+    }
+}
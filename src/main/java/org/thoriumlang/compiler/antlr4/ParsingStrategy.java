@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.antlr4;
+
+import org.antlr.v4.runtime.ANTLRErrorListener;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.thoriumlang.compiler.antlr.ThoriumParser;
+
+/**
+ * How a token stream is parsed. All the strategies produce the same parse tree and report the same syntax errors;
+ * they only differ in speed.
+ * <p>
+ * The DFA built by the ANTLR prediction is static to {@link ThoriumParser} and thus shared by all the parsers of the
+ * JVM: see {@link ParserWarmup} to build it before the first compilation.
+ * </p>
+ */
+public enum ParsingStrategy {
+    /**
+     * Uses the full-context LL prediction for the whole source.
+     */
+    LL {
+        @Override
+        public ThoriumParser.RootContext parse(TokenStream tokenStream, ANTLRErrorListener errorListener) {
+            ThoriumParser parser = new ThoriumParser(tokenStream);
+            parser.removeErrorListeners();
+            parser.addErrorListener(errorListener);
+            return parser.root();
+        }
+    },
+    /**
+     * Uses the faster SLL prediction, which bails out on the first syntax error or prediction conflict, and parses
+     * again with the LL prediction only when it did. When SLL succeeds, the parse tree is the same as the LL one.
+     */
+    SLL_THEN_LL {
+        @Override
+        public ThoriumParser.RootContext parse(TokenStream tokenStream, ANTLRErrorListener errorListener) {
+            ThoriumParser parser = new ThoriumParser(tokenStream);
+            parser.removeErrorListeners();
+            parser.setErrorHandler(new BailErrorStrategy());
+            parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+
+            try {
+                return parser.root();
+            }
+            catch (ParseCancellationException e) {
+                tokenStream.seek(0);
+                parser.reset();
+                parser.addErrorListener(errorListener);
+                parser.setErrorHandler(new DefaultErrorStrategy());
+                parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+                return parser.root();
+            }
+        }
+    };
+
+    private static final String PROPERTY = "thc.parser.strategy";
+
+    /**
+     * Parses a token stream.
+     *
+     * @param tokenStream   the tokens to parse.
+     * @param errorListener the listener receiving the syntax errors.
+     * @return the parse tree.
+     */
+    public abstract ThoriumParser.RootContext parse(TokenStream tokenStream, ANTLRErrorListener errorListener);
+
+    /**
+     * @return the strategy named by the <code>thc.parser.strategy</code> system property, {@link #SLL_THEN_LL} by
+     * default.
+     */
+    public static ParsingStrategy current() {
+        return valueOf(System.getProperty(PROPERTY, SLL_THEN_LL.name()).toUpperCase());
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.antlr4;
+
+import org.antlr.v4.runtime.CharStream;
+import org.thoriumlang.compiler.ast.context.LineIndex;
+
+/**
+ * Reads lines back from the {@link CharStream} a lexer reads, without copying the whole text when the stream is a
+ * {@link CharSequence}. The {@link LineIndex} of the last stream read is kept, so that it is built once per source.
+ */
+class SourceLines {
+    private CharStream indexedStream;
+    private LineIndex lineIndex;
+
+    static CharSequence text(CharStream stream) {
+        return stream instanceof CharSequence ? (CharSequence) stream : stream.toString();
+    }
+
+    /**
+     * @param stream the stream.
+     * @param line   the line number, starting at 1.
+     * @return the text of the line, or an empty string if the stream does not have that many lines.
+     */
+    String line(CharStream stream, int line) {
+        if (stream != indexedStream) {
+            indexedStream = stream;
+            lineIndex = LineIndex.of(text(stream));
+        }
+        return line >= 1 && line <= lineIndex.lineCount() ? lineIndex.line(line) : "";
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.api;
+
+import org.thoriumlang.compiler.api.errors.CompilationError;
+import org.thoriumlang.compiler.input.Source;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * {@link CompilationListener} forwarding the compilation events to another listener from a dedicated thread, so that a
+ * slow listener does not slow down the compilation. The events are queued in a bounded buffer, which blocks the
+ * compilation only when full, and delivered in batches, in the order they were received.
+ * <p>
+ * The {@link Event}s of a type having subscribers (see {@link #subscribe(Class, Consumer)}) are delivered to these
+ * subscribers instead of the other listener; the other {@link Event}s are forwarded to the other listener.
+ * </p>
+ * <p>
+ * {@link #onCompilationFinished()} returns once all the events of the compilation were delivered. A failure of the
+ * other listener or of a subscriber is rethrown from there, or from {@link #flush()}. Neither can be called by the
+ * other listener or by a subscriber.
+ * </p>
+ */
+public class AsyncCompilationListener implements CompilationListener, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final CompilationListener listener;
+    private final BlockingQueue<Runnable> buffer;
+    private final int capacity;
+    private final Map<Class<?>, List<Subscription<?>>> subscriptions;
+    private final AtomicReference<Throwable> failure;
+    private final Thread dispatcher;
+    private volatile boolean closed;
+
+    /**
+     * @param listener the listener to forward the events to.
+     * @param capacity the maximum number of events waiting to be delivered.
+     */
+    public AsyncCompilationListener(CompilationListener listener, int capacity) {
+        this.listener = Objects.requireNonNull(listener, "listener cannot be null");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.subscriptions = new ConcurrentHashMap<>();
+        this.failure = new AtomicReference<>();
+        this.dispatcher = new Thread(this::dispatch, "thc-compilation-listener");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    public AsyncCompilationListener(CompilationListener listener) {
+        this(listener, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Subscribes a consumer to the payloads of the {@link Event}s of the given type.
+     *
+     * @param type       the type of the payloads, as given to {@link Event#Event(Class, Object)}.
+     * @param subscriber the consumer of the payloads.
+     * @return this listener.
+     */
+    public <T> AsyncCompilationListener subscribe(Class<T> type, Consumer<? super T> subscriber) {
+        Objects.requireNonNull(type, "type cannot be null");
+        Objects.requireNonNull(subscriber, "subscriber cannot be null");
+        subscriptions.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>())
+                .add(new Subscription<>(type, subscriber));
+        return this;
+    }
+
+    @Override
+    public void onCompilationStarted() {
+        enqueue(listener::onCompilationStarted);
+    }
+
+    @Override
+    public void onCompilationFinished() {
+        enqueue(listener::onCompilationFinished);
+        flush();
+    }
+
+    @Override
+    public void onSourceStarted(Source source) {
+        enqueue(() -> listener.onSourceStarted(source));
+    }
+
+    @Override
+    public void onSourceFinished(Source source, CompilationContext context) {
+        enqueue(() -> listener.onSourceFinished(source, context));
+    }
+
+    @Override
+    public void onError(Source source, CompilationError error) {
+        enqueue(() -> listener.onError(source, error));
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        List<Subscription<?>> eventSubscriptions = subscriptions.getOrDefault(event.getType(), Collections.emptyList());
+        if (eventSubscriptions.isEmpty()) {
+            enqueue(() -> listener.onEvent(event));
+        }
+        else {
+            enqueue(() -> eventSubscriptions.forEach(s -> s.accept(event)));
+        }
+    }
+
+    @Override
+    public boolean measuresPhases() {
+        return listener.measuresPhases() || subscriptions.containsKey(PhaseEvent.class);
+    }
+
+    /**
+     * Waits until all the events received so far were delivered.
+     *
+     * @throws IllegalStateException if called while delivering an event, as it would wait for itself.
+     */
+    public void flush() {
+        if (Thread.currentThread() == dispatcher) {
+            throw new IllegalStateException("cannot flush while delivering an event");
+        }
+
+        CompletableFuture<Void> flushed = new CompletableFuture<>();
+        enqueue(() -> flushed.complete(null));
+        flushed.join();
+
+        Throwable throwable = failure.getAndSet(null);
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        if (throwable != null) {
+            throw (RuntimeException) throwable;
+        }
+    }
+
+    private void enqueue(Runnable delivery) {
+        if (closed) {
+            throw new IllegalStateException("listener is closed");
+        }
+        try {
+            buffer.put(delivery);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    private void dispatch() {
+        List<Runnable> batch = new ArrayList<>(capacity);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(buffer.take());
+                buffer.drainTo(batch);
+                batch.forEach(this::deliver);
+                batch.clear();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliver(Runnable delivery) {
+        try {
+            delivery.run();
+        }
+        catch (RuntimeException | Error e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * Delivers the pending events and stops the dispatching thread.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        }
+        finally {
+            closed = true;
+            dispatcher.interrupt();
+        }
+    }
+
+    private static class Subscription<T> {
+        private final Class<T> type;
+        private final Consumer<? super T> subscriber;
+
+        private Subscription(Class<T> type, Consumer<? super T> subscriber) {
+            this.type = type;
+            this.subscriber = subscriber;
+        }
+
+        private void accept(Event event) {
+            event.payload(type).ifPresent(subscriber);
+        }
+    }
+}
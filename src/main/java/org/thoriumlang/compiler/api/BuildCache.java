@@ -0,0 +1,59 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.api;
+
+import org.thoriumlang.compiler.ast.AST;
+import org.thoriumlang.compiler.input.Source;
+import org.thoriumlang.compiler.input.Sources;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * Remembers the sources that were compiled without error, so that the next compilations can skip them as long as
+ * neither them nor their dependencies changed.
+ */
+public interface BuildCache {
+    /**
+     * Returns a predicate telling whether a source is unchanged since its last successful compilation, as well as all
+     * its dependencies.
+     *
+     * @param sources the {@link Sources} used to resolve the dependencies.
+     * @return the predicate.
+     */
+    Predicate<Source> upToDate(Sources sources);
+
+    /**
+     * Records the successful compilation of a source.
+     *
+     * @param source       the compiled {@link Source}.
+     * @param ast          the {@link AST} of the source.
+     * @param dependencies the sources the source references.
+     */
+    void put(Source source, AST ast, Collection<Source> dependencies);
+
+    /**
+     * Forgets a source, for instance because it did not compile.
+     *
+     * @param source the {@link Source} to forget.
+     */
+    void remove(Source source);
+
+    /**
+     * Persists the cache.
+     */
+    void save();
+}
@@ -4,21 +4,28 @@ import org.thoriumlang.compiler.api.errors.CompilationError;
 import org.thoriumlang.compiler.ast.AST;
 import org.thoriumlang.compiler.ast.nodes.Root;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CompilationContext {
     private final AST ast;
     private final CompilationListener listener;
-    private Map<Class<?>, Object> map;
+    private final List<PhaseEvent> phases;
+    private final Map<Class<?>, Object> map;
 
-    public CompilationContext(AST ast, CompilationListener listener) {
+    public CompilationContext(AST ast, CompilationListener listener, List<PhaseEvent> phases) {
         this.ast = Objects.requireNonNull(ast, "ast cannot be null");
         this.listener = Objects.requireNonNull(listener, "listener cannot be null");
-        this.map = new HashMap<>();
+        this.phases = Objects.requireNonNull(phases, "phases cannot be null");
+        this.map = new ConcurrentHashMap<>();
+    }
+
+    public CompilationContext(AST ast, CompilationListener listener) {
+        this(ast, listener, Collections.emptyList());
     }
 
     public Optional<Root> root() {
@@ -33,6 +40,13 @@ public class CompilationContext {
         return listener;
     }
 
+    /**
+     * @return the measurements of the phases of the source's compilation.
+     */
+    public List<PhaseEvent> phases() {
+        return phases;
+    }
+
     @SuppressWarnings("unchecked") // we know it's the correct type thanks to put
     public <T> Optional<T> get(Class<T> key) {
         return Optional.ofNullable((T) map.get(key));
@@ -15,4 +15,12 @@ public interface CompilationListener {
     void onError(Source source, CompilationError error);
 
     void onEvent(Event event);
+
+    /**
+     * @return true to receive the {@link PhaseEvent}s of the compilation; the phases are only measured when the
+     * listener or a {@link Plugin} asks for them.
+     */
+    default boolean measuresPhases() {
+        return false;
+    }
 }
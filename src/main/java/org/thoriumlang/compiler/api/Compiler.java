@@ -1,81 +1,401 @@
 package org.thoriumlang.compiler.api;
 
+import org.thoriumlang.compiler.api.errors.CompilationError;
 import org.thoriumlang.compiler.ast.AST;
 import org.thoriumlang.compiler.ast.algorithms.symbolicnamechecking.SymbolicNameChecker;
 import org.thoriumlang.compiler.ast.algorithms.typechecking.TypeChecker;
+import org.thoriumlang.compiler.ast.metrics.NoopPhaseListener;
 import org.thoriumlang.compiler.ast.nodes.NodeIdGenerator;
+import org.thoriumlang.compiler.ast.nodes.Root;
+import org.thoriumlang.compiler.ast.nodes.TypeSpecSimple;
+import org.thoriumlang.compiler.ast.nodes.Use;
+import org.thoriumlang.compiler.ast.visitor.NodesScanningVisitor;
+import org.thoriumlang.compiler.collections.Lists;
 import org.thoriumlang.compiler.input.Source;
 import org.thoriumlang.compiler.input.Sources;
+import org.thoriumlang.compiler.input.loaders.CachingTypeLoader;
 import org.thoriumlang.compiler.input.loaders.JavaRTClassLoader;
 import org.thoriumlang.compiler.input.loaders.ThoriumRTClassLoader;
 import org.thoriumlang.compiler.input.loaders.ThoriumSrcClassLoader;
+import org.thoriumlang.compiler.input.loaders.TypeLoaderCache;
+import org.thoriumlang.compiler.symbols.Name;
 import org.thoriumlang.compiler.symbols.SymbolTable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class Compiler {
     private final List<Plugin> plugins;
     private final CompilationListener listener;
-    private final Map<Source, AST> compiledSources;
+    private final Executor executor;
+    private final Executor pluginExecutor;
+    private final Queue<CompletableFuture<Void>> pendingPlugins;
+    private final Map<Source, CompletableFuture<AST>> compiledSources;
+    private final Map<Source, AST> sourcesInProgress;
+    private final Map<Source, CompilationUnit> compilationUnits;
+    private final Map<Source, Thread> sourceOwners;
+    private final Map<Thread, Source> awaitedSources;
+    private final BuildCache buildCache;
+    private final TypeLoaderCache typeLoaderCache;
     private final NodeIdGenerator nodeIdGenerator;
     private final SymbolTable symbolTable;
 
-    public Compiler(CompilationListener listener, List<Plugin> plugins) {
+    /**
+     * Creates a compiler that compiles each {@link Source} of a {@link Sources} instance on the given executor. The
+     * {@link CompilationListener} and the {@link Plugin}s must be thread-safe unless the executor is single-threaded
+     * and the asynchronous plugins (see {@link Plugin#isAsynchronous()}) are executed on that same executor.
+     * The sources that the {@link BuildCache} considers up to date are skipped; when another source needs them, only
+     * their declaration is built (see {@link #declaration(Sources, Source)}). The other sources another source depends
+     * on are compiled after the sources depending on them.
+     * <p>
+     * The asynchronous plugins of a source are executed on the plugin executor once its synchronous plugins are
+     * done; the source is then considered compiled and the sources depending on it don't wait for them. The
+     * {@link CompilationListener#onSourceFinished(Source, CompilationContext)} event is sent once all the plugins of
+     * the source are done, and {@link #compile(Sources)} returns once all the plugins of all the sources are done.
+     * </p>
+     *
+     * @param listener        the listener receiving the compilation events.
+     * @param plugins         the plugins to execute after each successfully parsed {@link Source}.
+     * @param executor        the executor on which the sources are compiled.
+     * @param pluginExecutor  the executor on which the asynchronous plugins are executed.
+     * @param buildCache      the cache of the previous compilations.
+     * @param typeLoaderCache the cache of the type names resolutions, shared by all the sources.
+     */
+    public Compiler(CompilationListener listener, List<Plugin> plugins, Executor executor, Executor pluginExecutor,
+                    BuildCache buildCache, TypeLoaderCache typeLoaderCache) {
         this.listener = Objects.requireNonNull(listener, "listener cannot be null");
         this.plugins = Objects.requireNonNull(plugins, "plugins cannot be null");
-        this.compiledSources = new HashMap<>();
+        this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+        this.pluginExecutor = Objects.requireNonNull(pluginExecutor, "pluginExecutor cannot be null");
+        this.pendingPlugins = new ConcurrentLinkedQueue<>();
+        this.buildCache = Objects.requireNonNull(buildCache, "buildCache cannot be null");
+        this.typeLoaderCache = Objects.requireNonNull(typeLoaderCache, "typeLoaderCache cannot be null");
+        this.compiledSources = new ConcurrentHashMap<>();
+        this.sourcesInProgress = new ConcurrentHashMap<>();
+        this.compilationUnits = new ConcurrentHashMap<>();
+        this.sourceOwners = new ConcurrentHashMap<>();
+        this.awaitedSources = new ConcurrentHashMap<>();
         this.nodeIdGenerator = new NodeIdGenerator();
         this.symbolTable = new SymbolTable();
     }
 
+    public Compiler(CompilationListener listener, List<Plugin> plugins, Executor executor, BuildCache buildCache,
+                    TypeLoaderCache typeLoaderCache) {
+        this(listener, plugins, executor, executor, buildCache, typeLoaderCache);
+    }
+
+    public Compiler(CompilationListener listener, List<Plugin> plugins, Executor executor, BuildCache buildCache) {
+        this(listener, plugins, executor, buildCache, new TypeLoaderCache());
+    }
+
+    public Compiler(CompilationListener listener, List<Plugin> plugins, Executor executor) {
+        this(listener, plugins, executor, new NoopBuildCache());
+    }
+
+    public Compiler(CompilationListener listener, List<Plugin> plugins) {
+        this(listener, plugins, Runnable::run);
+    }
+
     public void compile(Sources sources) {
         listener.onCompilationStarted();
 
-        sources.sources().forEach(source -> compile(sources, source));
+        Predicate<Source> upToDate = buildCache.upToDate(sources);
+
+        compile(sources, sources.sources(), upToDate);
+
+        // the dependencies that are not part of the sources were only declared: compile them once the sources depending
+        // on them are compiled, as compiling them may declare further dependencies, repeat until none is left
+        List<Source> declaredSources = declaredSources(upToDate);
+        while (!declaredSources.isEmpty()) {
+            compile(sources, declaredSources, upToDate);
+            declaredSources = declaredSources(upToDate);
+        }
+
+        awaitPlugins();
+
+        buildCache.save();
+
+        plugins.forEach(Plugin::onCompilationFinished);
 
         listener.onCompilationFinished();
     }
 
+    private void compile(Sources sources, List<Source> sourcesToCompile, Predicate<Source> upToDate) {
+        join(CompletableFuture.allOf(
+                sourcesToCompile.stream()
+                        .filter(upToDate.negate())
+                        .map(source -> CompletableFuture.runAsync(() -> compile(sources, source), executor))
+                        .toArray(CompletableFuture[]::new)
+        ));
+    }
+
+    private void awaitPlugins() {
+        List<CompletableFuture<Void>> executions = new ArrayList<>();
+        CompletableFuture<Void> execution;
+        while ((execution = pendingPlugins.poll()) != null) {
+            executions.add(execution);
+        }
+        join(CompletableFuture.allOf(executions.toArray(new CompletableFuture[0])));
+    }
+
+    private List<Source> declaredSources(Predicate<Source> upToDate) {
+        return compilationUnits.keySet().stream()
+                .filter(source -> !compiledSources.containsKey(source))
+                .filter(upToDate.negate())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Compiles a {@link Source}, unless it was already compiled or is being compiled. Each source is compiled at most
+     * once: when another thread is compiling it, this method waits for that compilation to finish. When waiting would
+     * close a dependency cycle, the AST of the source being compiled is returned without waiting; its root is available
+     * but the algorithms may not have completed on it yet. The asynchronous plugins of the source may still be running
+     * when this method returns.
+     *
+     * @param sources the {@link Sources} the source belongs to.
+     * @param source  the {@link Source} to compile.
+     * @return the {@link AST} of the source.
+     */
     public AST compile(Sources sources, Source source) {
-        if (compiledSources.containsKey(source)) {
-            return compiledSources.get(source);
+        CompletableFuture<AST> compilation = new CompletableFuture<>();
+        CompletableFuture<AST> existingCompilation = compiledSources.putIfAbsent(source, compilation);
+
+        if (existingCompilation != null) {
+            return await(source, existingCompilation);
+        }
+
+        sourceOwners.put(source, Thread.currentThread());
+        try {
+            compilation.complete(doCompile(sources, source));
+        }
+        catch (RuntimeException | Error e) {
+            compilation.completeExceptionally(e);
+            throw e;
+        }
+        finally {
+            sourceOwners.remove(source);
+            sourcesInProgress.remove(source);
+        }
+
+        return compilation.join();
+    }
+
+    private AST await(Source source, CompletableFuture<AST> compilation) {
+        if (compilation.isDone()) {
+            return join(compilation);
+        }
+
+        Thread currentThread = Thread.currentThread();
+
+        synchronized (awaitedSources) {
+            if (closesCycle(currentThread, source)) {
+                AST ast = sourcesInProgress.get(source);
+                if (ast != null) {
+                    return ast;
+                }
+                // the owner finished in the meantime
+                return join(compilation);
+            }
+            awaitedSources.put(currentThread, source);
+        }
+
+        try {
+            return join(compilation);
+        }
+        finally {
+            awaitedSources.remove(currentThread);
+        }
+    }
+
+    /**
+     * Tells whether the current thread waiting for a source would create a cycle, i.e. if the thread compiling that
+     * source is (transitively) waiting for the current thread.
+     */
+    private boolean closesCycle(Thread currentThread, Source source) {
+        Thread owner = sourceOwners.get(source);
+
+        while (owner != null) {
+            if (owner == currentThread) {
+                return true;
+            }
+            Source awaitedSource = awaitedSources.get(owner);
+            if (awaitedSource == null) {
+                return false;
+            }
+            owner = sourceOwners.get(awaitedSource);
+        }
+
+        return false;
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        }
+        catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
         }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new CompletionException(cause);
+    }
+
+    /**
+     * Returns the declaration of a {@link Source}, i.e. its root without running the algorithms and the plugins on it
+     * (see {@link AST#declaration()}). This is what the sources depending on it need; the algorithms and the plugins
+     * only run when the source is compiled for its own sake, on the same {@link AST}.
+     *
+     * @param sources the {@link Sources} the source belongs to.
+     * @param source  the {@link Source} to declare.
+     * @return the root of the source, or an empty {@link Optional} when it has syntax errors.
+     */
+    public Optional<Root> declaration(Sources sources, Source source) {
+        return compilationUnit(sources, source).ast.declaration();
+    }
+
+    private CompilationUnit compilationUnit(Sources sources, Source source) {
+        CompilationUnit compilationUnit = compilationUnits.get(source);
+        if (compilationUnit != null) {
+            return compilationUnit;
+        }
+        return compilationUnits.computeIfAbsent(source, s -> new CompilationUnit(sources, s));
+    }
+
+    private AST doCompile(Sources sources, Source source) {
         listener.onSourceStarted(source);
 
-        AST ast = source.ast(
-                nodeIdGenerator,
-                symbolTable,
-                Arrays.asList(
-                        new TypeChecker(
-                                nodeIdGenerator,
-                                Arrays.asList(
-                                        new ThoriumSrcClassLoader(sources, this),
-                                        new ThoriumRTClassLoader(),
-                                        new JavaRTClassLoader()
-                                )),
-                        new SymbolicNameChecker()
-                        // TODO add TypeResolver
-                )
-        ).parse();
+        CompilationUnit compilationUnit = compilationUnit(sources, source);
+        AST ast = compilationUnit.ast;
+        sourcesInProgress.put(source, ast);
+        ast.parse();
 
         ast.errors().forEach(e -> listener.onError(source, e));
 
-        CompilationContext context = new CompilationContext(ast, listener);
+        CompilationContext context = new CompilationContext(ast, listener, new ArrayList<>(compilationUnit.phases));
 
-        plugins.stream()
+        List<CompilationError> synchronousErrors = plugins.stream()
+                .filter(p -> !p.isAsynchronous())
                 .map(p -> p.execute(context))
                 .flatMap(List::stream)
-                .collect(Collectors.toList())
-                .forEach(e -> listener.onError(source, e));
+                .collect(Collectors.toList());
 
-        compiledSources.put(source, ast);
-        listener.onSourceFinished(source, context);
+        List<CompletableFuture<List<CompilationError>>> asynchronousErrors = plugins.stream()
+                .filter(Plugin::isAsynchronous)
+                .map(p -> CompletableFuture.supplyAsync(() -> p.execute(context), pluginExecutor))
+                .collect(Collectors.toList());
+
+        CompletableFuture<Void> finished = CompletableFuture
+                .allOf(asynchronousErrors.toArray(new CompletableFuture[0]))
+                .thenRun(() -> finish(sources, source, ast, context, Lists.merge(
+                        synchronousErrors,
+                        asynchronousErrors.stream()
+                                .map(CompletableFuture::join)
+                                .flatMap(List::stream)
+                                .collect(Collectors.toList())
+                )));
+
+        if (finished.isDone()) {
+            // no plugin is still running: fail the source's compilation as soon as one of them failed
+            join(finished);
+        }
+        else {
+            pendingPlugins.add(finished);
+        }
 
         return ast;
     }
+
+    private void finish(Sources sources, Source source, AST ast, CompilationContext context,
+                        List<CompilationError> pluginErrors) {
+        pluginErrors.forEach(e -> listener.onError(source, e));
+
+        if (ast.errors().isEmpty() && pluginErrors.isEmpty()) {
+            buildCache.put(source, ast, dependencies(sources, source, ast));
+        }
+        else {
+            buildCache.remove(source);
+        }
+
+        listener.onSourceFinished(source, context);
+    }
+
+    /**
+     * Returns the sources the given AST references, either through a use directive or through a type. This is an
+     * over-approximation: a name is considered as a dependency as soon as a source defines it.
+     */
+    private Set<Source> dependencies(Sources sources, Source source, AST ast) {
+        return ast.root()
+                .map(root -> NodesScanningVisitor.collect(root, n -> n instanceof Use || n instanceof TypeSpecSimple)
+                        .stream()
+                        .map(n -> n instanceof Use ? ((Use) n).getFrom() : ((TypeSpecSimple) n).getType())
+                        .map(name -> root.getNamespace().isEmpty() ? Name.of(name) : Name.of(name, root.getNamespace()))
+                        .map(sources::load)
+                        .filter(Optional::isPresent)
+                        .map(Optional::get)
+                        .filter(s -> !s.equals(source))
+                        .collect(Collectors.toSet())
+                )
+                .orElse(Collections.emptySet());
+    }
+
+    private boolean measuresPhases() {
+        return listener.measuresPhases() || plugins.stream().anyMatch(Plugin::measuresPhases);
+    }
+
+    /**
+     * The {@link AST} of a source, created either when the source is compiled or when its declaration is first
+     * needed, and the phases measured on it so far.
+     */
+    private class CompilationUnit {
+        private final AST ast;
+        private final List<PhaseEvent> phases;
+
+        private CompilationUnit(Sources sources, Source source) {
+            this.phases = Collections.synchronizedList(new ArrayList<>());
+            this.ast = source.ast(
+                    nodeIdGenerator,
+                    symbolTable,
+                    Arrays.asList(
+                            new TypeChecker(
+                                    nodeIdGenerator,
+                                    Collections.singletonList(new CachingTypeLoader(
+                                            typeLoaderCache,
+                                            Arrays.asList(
+                                                    new ThoriumSrcClassLoader(sources, Compiler.this),
+                                                    new ThoriumRTClassLoader(),
+                                                    new JavaRTClassLoader()
+                                            )
+                                    ))),
+                            new SymbolicNameChecker()
+                            // TODO add TypeResolver
+                    ),
+                    measuresPhases() ? phase -> {
+                        PhaseEvent event = new PhaseEvent(source, phase);
+                        phases.add(event);
+                        listener.onEvent(new Event(PhaseEvent.class, event));
+                    } : new NoopPhaseListener()
+            );
+        }
+    }
 }
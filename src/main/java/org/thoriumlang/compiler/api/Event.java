@@ -12,6 +12,10 @@ public class Event {
         this.payload = Objects.requireNonNull(payload, "payload cannot be null");
     }
 
+    public Class<?> getType() {
+        return type;
+    }
+
     @SuppressWarnings("unchecked") // we know it's the correct type thanks to the ctor
     public <T> Optional<T> payload(Class<T> type) {
         if (this.type == type) {
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.api;
+
+import org.thoriumlang.compiler.ast.AST;
+import org.thoriumlang.compiler.input.Source;
+import org.thoriumlang.compiler.input.Sources;
+import org.thoriumlang.compiler.symbols.Name;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * {@link BuildCache} stored in a directory. For each source compiled without error, it stores the digest of its
+ * content, the fully qualified name of the type it defines, and the digest of each source it depends on.
+ * <p>
+ * Sources are identified by their {@link Source#toString()} value and only sources having a digest (see
+ * {@link Source#digest()}) are cached.
+ * </p>
+ */
+public class FileBuildCache implements BuildCache {
+    private static final int VERSION = 1;
+    private static final String FILENAME = "build-cache.bin";
+
+    private final Path file;
+    private final Map<String, Entry> entries;
+
+    public FileBuildCache(Path directory) {
+        this.file = Objects.requireNonNull(directory, "directory cannot be null").resolve(FILENAME);
+        this.entries = new ConcurrentHashMap<>(read(file));
+    }
+
+    private static Map<String, Entry> read(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != VERSION) {
+                return Collections.emptyMap();
+            }
+
+            Map<String, Entry> entries = new HashMap<>();
+            int entriesCount = in.readInt();
+            for (int i = 0; i < entriesCount; i++) {
+                String source = in.readUTF();
+                String digest = in.readUTF();
+                String name = in.readUTF();
+                Map<String, String> dependencies = new HashMap<>();
+                int dependenciesCount = in.readInt();
+                for (int j = 0; j < dependenciesCount; j++) {
+                    dependencies.put(in.readUTF(), in.readUTF());
+                }
+                entries.put(source, new Entry(digest, name, dependencies));
+            }
+            return entries;
+        }
+        catch (IOException e) {
+            // a missing or corrupted cache is the same as an empty one
+            return Collections.emptyMap();
+        }
+    }
+
+    @Override
+    public Predicate<Source> upToDate(Sources sources) {
+        Map<String, Boolean> upToDateSources = new HashMap<>();
+        return source -> isUpToDate(sources, source, upToDateSources);
+    }
+
+    private synchronized boolean isUpToDate(Sources sources, Source source, Map<String, Boolean> upToDateSources) {
+        String key = source.toString();
+        Boolean upToDate = upToDateSources.get(key);
+
+        if (upToDate != null) {
+            return upToDate;
+        }
+
+        // assume it's up to date while we check the dependencies, in case of cycles
+        upToDateSources.put(key, true);
+        upToDate = computeUpToDate(sources, source, upToDateSources);
+        upToDateSources.put(key, upToDate);
+
+        return upToDate;
+    }
+
+    private boolean computeUpToDate(Sources sources, Source source, Map<String, Boolean> upToDateSources) {
+        Entry entry = entries.get(source.toString());
+
+        if (entry == null || !source.digest().filter(entry.digest::equals).isPresent()) {
+            return false;
+        }
+
+        for (Map.Entry<String, String> dependency : entry.dependencies.entrySet()) {
+            Entry dependencyEntry = entries.get(dependency.getKey());
+
+            if (dependencyEntry == null || !dependencyEntry.digest.equals(dependency.getValue())) {
+                return false;
+            }
+
+            Optional<Source> dependencySource = sources.load(Name.of(dependencyEntry.name))
+                    .filter(s -> s.toString().equals(dependency.getKey()));
+
+            if (!dependencySource.isPresent() || !isUpToDate(sources, dependencySource.get(), upToDateSources)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public void put(Source source, AST ast, Collection<Source> dependencies) {
+        Optional<String> digest = source.digest();
+        Optional<String> name = ast.root()
+                .map(root -> root.getNamespace().isEmpty()
+                        ? root.getTopLevelNode().getName()
+                        : root.getNamespace() + "." + root.getTopLevelNode().getName()
+                );
+
+        if (!digest.isPresent() || !name.isPresent()) {
+            remove(source);
+            return;
+        }
+
+        Map<String, String> dependenciesDigests = new HashMap<>();
+        for (Source dependency : dependencies) {
+            Optional<String> dependencyDigest = dependency.digest();
+            if (!dependencyDigest.isPresent()) {
+                remove(source);
+                return;
+            }
+            dependenciesDigests.put(dependency.toString(), dependencyDigest.get());
+        }
+
+        entries.put(source.toString(), new Entry(digest.get(), name.get(), dependenciesDigests));
+    }
+
+    @Override
+    public void remove(Source source) {
+        entries.remove(source.toString());
+    }
+
+    @Override
+    public void save() {
+        try {
+            Files.createDirectories(file.getParent());
+            Path tempFile = Files.createTempFile(file.getParent(), FILENAME, ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                Map<String, Entry> snapshot = new HashMap<>(entries);
+                out.writeInt(VERSION);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<String, Entry> entry : snapshot.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeUTF(entry.getValue().digest);
+                    out.writeUTF(entry.getValue().name);
+                    out.writeInt(entry.getValue().dependencies.size());
+                    for (Map.Entry<String, String> dependency : entry.getValue().dependencies.entrySet()) {
+                        out.writeUTF(dependency.getKey());
+                        out.writeUTF(dependency.getValue());
+                    }
+                }
+            }
+
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class Entry {
+        private final String digest;
+        private final String name;
+        private final Map<String, String> dependencies;
+
+        private Entry(String digest, String name, Map<String, String> dependencies) {
+            this.digest = digest;
+            this.name = name;
+            this.dependencies = dependencies;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.api;
+
+import org.thoriumlang.compiler.ast.AST;
+import org.thoriumlang.compiler.input.Source;
+import org.thoriumlang.compiler.input.Sources;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+
+public class NoopBuildCache implements BuildCache {
+    @Override
+    public Predicate<Source> upToDate(Sources sources) {
+        return source -> false;
+    }
+
+    @Override
+    public void put(Source source, AST ast, Collection<Source> dependencies) {
+        // noop
+    }
+
+    @Override
+    public void remove(Source source) {
+        // noop
+    }
+
+    @Override
+    public void save() {
+        // noop
+    }
+}
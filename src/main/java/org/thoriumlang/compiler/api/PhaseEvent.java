@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.api;
+
+import org.thoriumlang.compiler.ast.metrics.Phase;
+import org.thoriumlang.compiler.input.Source;
+
+import java.util.Objects;
+
+/**
+ * Payload of the {@link Event} sent to {@link CompilationListener#onEvent(Event)} each time a compilation phase of a
+ * source finished.
+ */
+public class PhaseEvent {
+    private final Source source;
+    private final Phase phase;
+
+    public PhaseEvent(Source source, Phase phase) {
+        this.source = Objects.requireNonNull(source, "source cannot be null");
+        this.phase = Objects.requireNonNull(phase, "phase cannot be null");
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+}
@@ -6,4 +6,33 @@ import java.util.List;
 
 public interface Plugin {
     List<CompilationError> execute(CompilationContext context);
+
+    /**
+     * Tells whether the plugin can be executed asynchronously, on the compiler's plugin executor, while the compiler
+     * carries on with the other sources. Such a plugin is typically read-only or writes outputs no other plugin needs:
+     * it runs after the synchronous plugins of the source and sees the values they put in the
+     * {@link CompilationContext}, but the synchronous plugins don't see the values it puts there.
+     *
+     * @return false unless overridden.
+     */
+    default boolean isAsynchronous() {
+        return false;
+    }
+
+    /**
+     * Tells whether the plugin reads the phases of the sources (see {@link CompilationContext#phases()}). The phases
+     * are only measured when a plugin or the {@link CompilationListener} asks for them.
+     *
+     * @return false unless overridden.
+     */
+    default boolean measuresPhases() {
+        return false;
+    }
+
+    /**
+     * Called once all the sources were compiled.
+     */
+    default void onCompilationFinished() {
+        // nothing
+    }
 }
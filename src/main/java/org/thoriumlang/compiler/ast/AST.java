@@ -15,24 +15,30 @@
  */
 package org.thoriumlang.compiler.ast;
 
+import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
-import org.antlr.v4.runtime.TokenSource;
 import org.thoriumlang.compiler.antlr.ThoriumLexer;
 import org.thoriumlang.compiler.antlr.ThoriumParser;
 import org.thoriumlang.compiler.antlr4.LexerErrorListener;
 import org.thoriumlang.compiler.antlr4.ParserErrorListener;
+import org.thoriumlang.compiler.antlr4.ParsingStrategy;
 import org.thoriumlang.compiler.antlr4.RootVisitor;
 import org.thoriumlang.compiler.api.errors.CompilationError;
 import org.thoriumlang.compiler.api.errors.SemanticError;
 import org.thoriumlang.compiler.api.errors.SyntaxError;
 import org.thoriumlang.compiler.ast.algorithms.Algorithm;
+import org.thoriumlang.compiler.ast.metrics.NoopPhaseListener;
+import org.thoriumlang.compiler.ast.metrics.PhaseListener;
+import org.thoriumlang.compiler.ast.metrics.Stopwatch;
+import org.thoriumlang.compiler.ast.nodes.Node;
 import org.thoriumlang.compiler.ast.nodes.NodeIdGenerator;
 import org.thoriumlang.compiler.ast.nodes.Root;
+import org.thoriumlang.compiler.ast.visitor.NodesScanningVisitor;
 import org.thoriumlang.compiler.ast.visitor.RelativesInjectionVisitor;
 import org.thoriumlang.compiler.ast.visitor.SymbolTableInitializationVisitor;
 import org.thoriumlang.compiler.ast.visitor.TypeFlatteningVisitor;
-import org.thoriumlang.compiler.collections.Lists;
+import org.thoriumlang.compiler.ast.visitor.Visitor;
 import org.thoriumlang.compiler.data.Pair;
 import org.thoriumlang.compiler.symbols.Name;
 import org.thoriumlang.compiler.symbols.SymbolTable;
@@ -41,29 +47,58 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 public class AST {
-    private final InputStream inputStream;
+    private final Supplier<CharStream> charStream;
+    private final Object lock = new Object();
+    private final Object declarationLock = new Object();
     private final String namespace; // TODO create a Namespace  (/!\ we use Name for some namespaces values)
     private final List<Algorithm> algorithms;
     private final NodeIdGenerator nodeIdGenerator;
     private final SymbolTable symbolTable;
+    private final PhaseListener phaseListener;
 
-    private boolean parsed = false;
-    private Root root;
-    private List<CompilationError> errors;
+    private volatile boolean declared = false;
+    private volatile boolean parsed = false;
+    private volatile Root root;
+    private volatile List<SyntaxError> syntaxErrors;
+    private volatile List<CompilationError> errors;
 
-    public AST(InputStream inputStream, String namespace, NodeIdGenerator nodeIdGenerator, List<Algorithm> algorithms, SymbolTable symbolTable) {
-        this.inputStream = Objects.requireNonNull(inputStream, "inputStream cannot be null");
+    /**
+     * @param charStream supplies the text to parse; it is called once, when the AST is first parsed.
+     */
+    public AST(Supplier<CharStream> charStream, String namespace, NodeIdGenerator nodeIdGenerator, List<Algorithm> algorithms, SymbolTable symbolTable, PhaseListener phaseListener) {
+        this.charStream = Objects.requireNonNull(charStream, "charStream cannot be null");
         this.namespace = Objects.requireNonNull(namespace, "namespace cannot be null");
         this.algorithms = Objects.requireNonNull(algorithms, "algorithms cannot be null");
         this.nodeIdGenerator = Objects.requireNonNull(nodeIdGenerator, "nodeIdGenerator cannot be null");
         this.symbolTable = symbolTable;
+        this.phaseListener = Objects.requireNonNull(phaseListener, "phaseListener cannot be null");
+    }
+
+    public AST(InputStream inputStream, String namespace, NodeIdGenerator nodeIdGenerator, List<Algorithm> algorithms, SymbolTable symbolTable, PhaseListener phaseListener) {
+        this(charStream(inputStream), namespace, nodeIdGenerator, algorithms, symbolTable, phaseListener);
+    }
+
+    public AST(InputStream inputStream, String namespace, NodeIdGenerator nodeIdGenerator, List<Algorithm> algorithms, SymbolTable symbolTable) {
+        this(inputStream, namespace, nodeIdGenerator, algorithms, symbolTable, new NoopPhaseListener());
+    }
+
+    private static Supplier<CharStream> charStream(InputStream inputStream) {
+        Objects.requireNonNull(inputStream, "inputStream cannot be null");
+        return () -> {
+            try {
+                return CharStreams.fromStream(inputStream);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
     }
 
     public AST parse() {
@@ -71,32 +106,20 @@ public class AST {
             return this;
         }
 
-        synchronized (inputStream) {
+        synchronized (lock) {
             if (parsed) {
                 return this;
             }
             parsed = true;
 
-            Pair<ThoriumParser.RootContext, List<SyntaxError>> parsingResult = new Parser().parse(inputStream);
+            Optional<Root> declaredRoot = declaration();
 
-            if (!parsingResult.right().isEmpty()) {
-                errors = new ArrayList<>(parsingResult.right());
+            if (!declaredRoot.isPresent()) {
+                errors = new ArrayList<>(syntaxErrors);
                 return this;
             }
 
-            Pair<Root, List<SemanticError>> algorithmsResult = applyAlgorithm(
-                    algorithms.iterator(),
-                    new Pair<>(
-                            (Root) parsingResult.left()
-                                    .accept(new RootVisitor(nodeIdGenerator, namespace))
-                                    .accept(new TypeFlatteningVisitor(nodeIdGenerator))
-                                    .accept(new RelativesInjectionVisitor())
-                                    .accept(new SymbolTableInitializationVisitor(
-                                            findLocalTable(symbolTable, new Name(namespace).getParts()))
-                                    ),
-                            Collections.emptyList()
-                    )
-            );
+            Pair<Root, List<SemanticError>> algorithmsResult = applyAlgorithms(declaredRoot.get());
 
             errors = new ArrayList<>(algorithmsResult.right());
             root = algorithmsResult.left();
@@ -105,20 +128,100 @@ public class AST {
         return this;
     }
 
-    private Pair<Root, List<SemanticError>> applyAlgorithm(Iterator<Algorithm> currentAlgorithm,
-                                                           Pair<Root, List<SemanticError>> state) {
-        if (!currentAlgorithm.hasNext()) {
-            return state;
+    /**
+     * Parses the source and builds its root, with its relatives and symbol tables, but does not run the algorithms.
+     * This is enough to know the type the source defines: its name, type parameters, super type and methods
+     * signatures. The algorithms run when {@link #parse()} is called.
+     * <p>
+     * The declaration never waits for another source, so that it can be requested while that other source is being
+     * compiled (i.e. dependency cycles).
+     * </p>
+     *
+     * @return the root, or an empty {@link Optional} when the source has syntax errors.
+     */
+    public Optional<Root> declaration() {
+        if (declared) {
+            return Optional.ofNullable(root);
         }
 
-        Pair<Root, List<SemanticError>> result = currentAlgorithm.next().walk(state.left());
+        synchronized (declarationLock) {
+            if (declared) {
+                return Optional.ofNullable(root);
+            }
 
-        return applyAlgorithm(
-                currentAlgorithm,
-                new Pair<>(result.left(), Lists.merge(state.right(), result.right()))
-        );
+            Pair<ThoriumParser.RootContext, List<SyntaxError>> parsingResult = new Parser().parse(charStream.get());
+            ThoriumParser.RootContext parseTree = parsingResult.left();
+
+            if (!parsingResult.right().isEmpty()) {
+                syntaxErrors = parsingResult.right();
+                declared = true;
+                return Optional.empty();
+            }
+
+            Root builtRoot = measureNodes("RootVisitor",
+                    () -> (Root) parseTree.accept(new RootVisitor(nodeIdGenerator, namespace))
+            );
+            builtRoot = measureNodes("TypeFlatteningVisitor",
+                    visit(builtRoot, new TypeFlatteningVisitor(nodeIdGenerator))
+            );
+            builtRoot = measureNodes("RelativesInjectionVisitor",
+                    visit(builtRoot, new RelativesInjectionVisitor())
+            );
+            root = measureNodes("SymbolTableInitializationVisitor",
+                    visit(builtRoot, new SymbolTableInitializationVisitor(
+                            findLocalTable(symbolTable, Name.of(namespace).getParts())
+                    ))
+            );
+            declared = true;
+
+            return Optional.of(root);
+        }
     }
 
+    private Pair<Root, List<SemanticError>> applyAlgorithms(Root declaredRoot) {
+        Root currentRoot = declaredRoot;
+        List<SemanticError> algorithmsErrors = new ArrayList<>();
+
+        for (Algorithm algorithm : algorithms) {
+            Root algorithmRoot = currentRoot;
+            Pair<Root, List<SemanticError>> result = measure(
+                    algorithm.getClass().getSimpleName(),
+                    () -> algorithm.walk(algorithmRoot),
+                    r -> countNodes(r.left()),
+                    r -> 0
+            );
+            currentRoot = result.left();
+            algorithmsErrors.addAll(result.right());
+        }
+
+        return new Pair<>(currentRoot, algorithmsErrors);
+    }
+
+    private static Supplier<Root> visit(Root root, Visitor<Node> visitor) {
+        return () -> (Root) root.accept(visitor);
+    }
+
+    private Root measureNodes(String phase, Supplier<Root> step) {
+        return measure(phase, step, AST::countNodes, r -> 0);
+    }
+
+    private static int countNodes(Root root) {
+        return NodesScanningVisitor.count(root, n -> true);
+    }
+
+    private <T> T measure(String phase, Supplier<T> step, ToIntFunction<T> nodes, ToIntFunction<T> tokens) {
+        if (!phaseListener.isEnabled()) {
+            return step.get();
+        }
+
+        Stopwatch stopwatch = Stopwatch.start();
+        T result = step.get();
+        stopwatch.stop();
+
+        phaseListener.onPhase(stopwatch.phase(phase, nodes.applyAsInt(result), tokens.applyAsInt(result)));
+
+        return result;
+    }
 
     private SymbolTable findLocalTable(SymbolTable symbolTable, List<String> namespaces) {
         if (namespaces.isEmpty()) {
@@ -141,38 +244,33 @@ public class AST {
         return errors;
     }
 
-    private static class Parser implements SyntaxErrorListener {
+    private class Parser implements SyntaxErrorListener {
         private final List<SyntaxError> errors = new ArrayList<>();
 
-        private Pair<ThoriumParser.RootContext, List<SyntaxError>> parse(InputStream inputStream) {
-            return new Pair<>(parser(lexer(inputStream)).root(), errors);
-        }
+        private Pair<ThoriumParser.RootContext, List<SyntaxError>> parse(CharStream charStream) {
+            CommonTokenStream tokenStream = new CommonTokenStream(lexer(charStream));
 
-        private ThoriumParser parser(TokenSource lexer) {
-            ThoriumParser parser = new ThoriumParser(
-                    new CommonTokenStream(
-                            lexer
-                    )
+            // the lexer is lazy: filling the stream before parsing allows to measure it on its own
+            int tokens = measure("lexer", () -> {
+                tokenStream.fill();
+                return tokenStream.size();
+            }, t -> 0, t -> t);
+
+            return new Pair<>(
+                    measure("parser",
+                            () -> ParsingStrategy.current().parse(tokenStream, new ParserErrorListener(this)),
+                            t -> 0,
+                            t -> tokens
+                    ),
+                    errors
             );
-            parser.removeErrorListeners();
-            parser.addErrorListener(new ParserErrorListener(this));
-            return parser;
         }
 
-        private ThoriumLexer lexer(InputStream inputStream) {
-            try {
-                ThoriumLexer lexer = new ThoriumLexer(
-                        CharStreams.fromStream(
-                                inputStream
-                        )
-                );
-                lexer.removeErrorListeners();
-                lexer.addErrorListener(new LexerErrorListener(this));
-                return lexer;
-            }
-            catch (IOException e) {
-                throw new UncheckedIOException(e);
-            }
+        private ThoriumLexer lexer(CharStream charStream) {
+            ThoriumLexer lexer = new ThoriumLexer(charStream);
+            lexer.removeErrorListeners();
+            lexer.addErrorListener(new LexerErrorListener(this));
+            return lexer;
         }
 
 
@@ -19,13 +19,13 @@ import org.thoriumlang.compiler.api.errors.SemanticError;
 import org.thoriumlang.compiler.ast.algorithms.Algorithm;
 import org.thoriumlang.compiler.ast.nodes.Reference;
 import org.thoriumlang.compiler.ast.nodes.Root;
-import org.thoriumlang.compiler.ast.visitor.NodesMatchingVisitor;
+import org.thoriumlang.compiler.ast.visitor.NodesScanningVisitor;
 import org.thoriumlang.compiler.ast.visitor.PredicateVisitor;
 import org.thoriumlang.compiler.collections.Lists;
 import org.thoriumlang.compiler.data.Pair;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class SymbolicNameChecker implements Algorithm {
     private final SymbolicNameDiscoveryVisitor visitorSkippingNodesAllowingForwardReference;
@@ -42,19 +42,17 @@ public class SymbolicNameChecker implements Algorithm {
 
         // now we have to do a second pass on the Reference nodes that allow forward reference (we discovered the
         // potential missing targets from the first pass)
-        List<SemanticError> secondPassErrors = root
-                .accept(
-                        new NodesMatchingVisitor(n -> n.accept(new PredicateVisitor(false) {
-                            @Override
-                            public Boolean visit(Reference node) {
-                                return node.allowForwardReference();
-                            }
-                        }))
-                )
-                .stream()
-                .map(n -> n.accept(visitor))
-                .flatMap(List::stream)
-                .collect(Collectors.toList());
+        List<SemanticError> secondPassErrors = new ArrayList<>();
+        NodesScanningVisitor.forEach(
+                root,
+                n -> n.accept(new PredicateVisitor(false) {
+                    @Override
+                    public Boolean visit(Reference node) {
+                        return node.allowForwardReference();
+                    }
+                }),
+                n -> secondPassErrors.addAll(n.accept(visitor))
+        );
 
         return new Pair<>(root, Lists.merge(firstPassErrors, secondPassErrors));
     }
@@ -98,7 +98,7 @@ class SymbolicNameDiscoveryVisitor extends BaseVisitor<List<SemanticError>> {
     }
 
     private Name symbolName(MethodSignature node) {
-        return new Name(
+        return Name.of(
                 String.format("%s(%s)",
                         // TODO shouldn't we have the type parameter as well? (see name as well)
                         node.getName(),
@@ -111,7 +111,7 @@ class SymbolicNameDiscoveryVisitor extends BaseVisitor<List<SemanticError>> {
 
     @Override
     public List<SemanticError> visit(Class node) {
-        getSymbolTable(node).put(new Name("this"), new SymbolicName(node));
+        getSymbolTable(node).put(Name.of("this"), new SymbolicName(node));
 
         return Lists.merge(
                 node.getAttributes().stream()
@@ -129,7 +129,7 @@ class SymbolicNameDiscoveryVisitor extends BaseVisitor<List<SemanticError>> {
     public List<SemanticError> visit(Attribute node) {
         SymbolTable symbolTable = getSymbolTable(node).enclosingScope();
 
-        Name symbolName = new Name(node.getName());
+        Name symbolName = Name.of(node.getName());
 
         List<SemanticError> errors = Lists.merge(
                 alreadyDefined(symbolTable, symbolName, node),
@@ -177,10 +177,10 @@ class SymbolicNameDiscoveryVisitor extends BaseVisitor<List<SemanticError>> {
                 .parent()
                 .orElseThrow(() -> new IllegalStateException("no parent found"))
                 .node()
-                .accept(new MappingVisitor<Name>(new Name(node.getName())) {
+                .accept(new MappingVisitor<Name>(Name.of(node.getName())) {
                     @Override
                     public Name visit(MethodCallValue node) {
-                        return new Name(String.format("%s(%s)",
+                        return Name.of(String.format("%s(%s)",
                                 node.getMethodReference().getName(),
                                 node.getMethodArguments().stream()
                                         .map(a -> "_")
@@ -276,7 +276,7 @@ class SymbolicNameDiscoveryVisitor extends BaseVisitor<List<SemanticError>> {
     public List<SemanticError> visit(Parameter node) {
         SymbolTable symbolTable = getSymbolTable(node);
 
-        Name symbolName = new Name(node.getName());
+        Name symbolName = Name.of(node.getName());
 
         List<SemanticError> errors = alreadyDefined(symbolTable, symbolName, node);
 
@@ -294,7 +294,7 @@ class SymbolicNameDiscoveryVisitor extends BaseVisitor<List<SemanticError>> {
     public List<SemanticError> visit(NewAssignmentValue node) {
         SymbolTable symbolTable = getSymbolTable(node);
 
-        Name symbolName = new Name(node.getName());
+        Name symbolName = Name.of(node.getName());
 
         List<SemanticError> errors = Lists.merge(
                 alreadyDefined(symbolTable, symbolName, node),
@@ -22,7 +22,7 @@ import org.thoriumlang.compiler.ast.nodes.Node;
 import org.thoriumlang.compiler.ast.nodes.NodeIdGenerator;
 import org.thoriumlang.compiler.ast.nodes.Root;
 import org.thoriumlang.compiler.ast.nodes.TypeSpecSimple;
-import org.thoriumlang.compiler.ast.visitor.NodesMatchingVisitor;
+import org.thoriumlang.compiler.ast.visitor.NodesScanningVisitor;
 import org.thoriumlang.compiler.collections.Lists;
 import org.thoriumlang.compiler.data.Maybe;
 import org.thoriumlang.compiler.data.Pair;
@@ -58,12 +58,12 @@ public class TypeChecker implements Algorithm, TypeLoader { // TODO rename to Ty
                 );
 
         // TODO move to TypeDiscoveryVisitor
-        List<SemanticError> typeNotFoundErrors = new NodesMatchingVisitor(n -> n instanceof TypeSpecSimple)
-                .visit(root).stream()
+        List<SemanticError> typeNotFoundErrors = NodesScanningVisitor.collect(root, n -> n instanceof TypeSpecSimple)
+                .stream()
                 .map(t -> (TypeSpecSimple) t)
-                .filter(t -> t.getContext().require(SymbolTable.class).find(new Name(t.getType())).isEmpty())
+                .filter(t -> t.getContext().require(SymbolTable.class).find(Name.of(t.getType())).isEmpty())
                 .map(t -> {
-                    Name name = new Name(t.getType(), root.getNamespace());
+                    Name name = Name.of(t.getType(), root.getNamespace());
 
                     if (load(name, t, t.getContext().require(SymbolTable.class))) {
                         return null;
@@ -91,7 +91,7 @@ public class TypeChecker implements Algorithm, TypeLoader { // TODO rename to Ty
 
             symbolTable               // [body]
                     .enclosingScope() // type or class
-                    .put(new Name(name.getSimpleName()), new AliasSymbol(node, name.getFullName()));
+                    .put(Name.of(name.getSimpleName()), new AliasSymbol(node, name.getFullName()));
             return true;
         }
 
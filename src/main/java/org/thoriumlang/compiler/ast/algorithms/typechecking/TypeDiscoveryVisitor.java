@@ -72,8 +72,8 @@ public class TypeDiscoveryVisitor extends BaseVisitor<List<SemanticError>> {
     public List<SemanticError> visit(Use node) {
         SymbolTable symbolTable = node.getContext().require(SymbolTable.class);
 
-        Name aliasName = new Name(node.getTo());
-        Name targetName = new Name(node.getFrom(), namespace);
+        Name aliasName = Name.of(node.getTo());
+        Name targetName = Name.of(node.getFrom(), namespace);
 
         if (!symbolTable.find(targetName).isEmpty()) {
             symbolTable.put(aliasName, new AliasSymbol(node, targetName.getFullName()));
@@ -115,7 +115,7 @@ public class TypeDiscoveryVisitor extends BaseVisitor<List<SemanticError>> {
     @Override
     public List<SemanticError> visit(TypeParameter node) {
         getSymbolTable(node).put(
-                new Name(node.getName()),
+                Name.of(node.getName()),
                 new ThoriumType(node, node)
         );
 
@@ -139,7 +139,8 @@ public class TypeDiscoveryVisitor extends BaseVisitor<List<SemanticError>> {
     private List<SemanticError> visitTopLevel(TopLevelNode node, String name, List<TypeParameter> typeParameters) {
         SymbolTable symbolTable = getSymbolTable(node);
 
-        if (!symbolTable.find(new Name(name)).isEmpty()) {
+        // a source depending on this one may have loaded this very node already, from its declaration
+        if (symbolTable.find(Name.of(name)).stream().anyMatch(s -> !isSymbolOf(s, node))) {
             return Collections.singletonList(
                     new SymbolAlreadyDefinedError(node, name)
             );
@@ -149,9 +150,9 @@ public class TypeDiscoveryVisitor extends BaseVisitor<List<SemanticError>> {
 
         symbolTable               // [body]
                 .enclosingScope() // type or class
-                .put(new Name(name), new AliasSymbol(node, fqName));
+                .put(Name.of(name), new AliasSymbol(node, fqName));
 
-        symbolTable.put(new Name(fqName), new ThoriumType(node, node));
+        symbolTable.put(Name.of(fqName), new ThoriumType(node, node));
 
         return typeParameters.stream()
                 .map(p -> p.accept(this))
@@ -159,6 +160,10 @@ public class TypeDiscoveryVisitor extends BaseVisitor<List<SemanticError>> {
                 .collect(Collectors.toList());
     }
 
+    private static boolean isSymbolOf(Symbol symbol, TopLevelNode node) {
+        return symbol instanceof ThoriumType && ((ThoriumType) symbol).getNode() == node;
+    }
+
     @Override
     public List<SemanticError> visit(Class node) {
         List<SemanticError> errors = visitTopLevel(node, node.getName(), node.getTypeParameters());
@@ -96,7 +96,7 @@ public class TypeQualifyingVisitor extends BaseVisitor<Maybe<? extends Node, Lis
      * @return the canonical name
      */
     private static String getCanonicalName(String type, SymbolTable symbolTable) {
-        List<Symbol> symbols = symbolTable.find(new Name(type));
+        List<Symbol> symbols = symbolTable.find(Name.of(type));
 
         if (symbols.size() != 1) {
             // type is not found, but this visitor's task is not to check the presence of types.
@@ -6,6 +6,7 @@ import org.thoriumlang.compiler.ast.context.ReferencedNode;
 import org.thoriumlang.compiler.ast.nodes.Attribute;
 import org.thoriumlang.compiler.ast.nodes.DirectAssignmentValue;
 import org.thoriumlang.compiler.ast.nodes.Method;
+import org.thoriumlang.compiler.ast.nodes.NodeId;
 import org.thoriumlang.compiler.ast.nodes.NodeIdGenerator;
 import org.thoriumlang.compiler.ast.nodes.Root;
 import org.thoriumlang.compiler.ast.nodes.Statement;
@@ -13,18 +14,16 @@ import org.thoriumlang.compiler.ast.nodes.TypeSpec;
 import org.thoriumlang.compiler.ast.nodes.TypeSpecIntersection;
 import org.thoriumlang.compiler.ast.predicates.NodePredicates;
 import org.thoriumlang.compiler.ast.visitor.BaseVisitor;
-import org.thoriumlang.compiler.ast.visitor.NodesMatchingVisitor;
+import org.thoriumlang.compiler.ast.visitor.NodesScanningVisitor;
 import org.thoriumlang.compiler.ast.visitor.PredicateVisitor;
 import org.thoriumlang.compiler.ast.visitor.TypeFlatteningVisitor;
 import org.thoriumlang.compiler.data.Pair;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class TypeResolver implements Algorithm {
@@ -36,11 +35,6 @@ public class TypeResolver implements Algorithm {
         this.typeFlatteningVisitor = new TypeFlatteningVisitor(nodeIdGenerator);
     }
 
-    public static Predicate<SemanticError> distinctByKey(Function<? super SemanticError, ?> keyExtractor) {
-        Set<Object> seen = ConcurrentHashMap.newKeySet();
-        return t -> seen.add(keyExtractor.apply(t));
-    }
-
     @Override
     public Pair<Root, List<SemanticError>> walk(Root root) {
         List<SemanticError> errors = removeDuplicateErrors(
@@ -58,19 +52,25 @@ public class TypeResolver implements Algorithm {
         return new Pair<>(root, Collections.emptyList());
     }
 
+    /**
+     * Keeps the first error of each node. Nodes are told apart by their id, which is unique within a root.
+     */
     private List<SemanticError> removeDuplicateErrors(List<SemanticError> errors) {
+        Set<NodeId> nodeIds = new HashSet<>();
         return errors.stream()
-                .filter(distinctByKey(SemanticError::getNode))
+                .filter(e -> nodeIds.add(e.getNode().getNodeId()))
                 .collect(Collectors.toList());
     }
 
     private void flattenInferredTypes(Root root) {
-        new NodesMatchingVisitor(n -> true).visit(root)
-                .forEach(n -> n.getContext()
+        NodesScanningVisitor.forEach(
+                root,
+                n -> true,
+                n -> n.getContext()
                         .get(TypeSpec.class)
                         .map(t -> (TypeSpec) t.accept(typeFlatteningVisitor))
                         .ifPresent(t -> n.getContext().put(TypeSpec.class, t))
-                );
+        );
     }
 
     private void removeNoneFromInferredTypeOfAttributesAssignedInAllConstructors(Root root) {
@@ -88,16 +88,16 @@ public class TypeResolver implements Algorithm {
         }
     }
 
-    @SuppressWarnings("unchecked") // the nodes that are returned by the NodeMatchingVisitor are all instances of Method
+    @SuppressWarnings("unchecked") // the nodes that are returned by the NodesScanningVisitor are all instances of Method
     private List<Method> constructors(Root root) {
         String toplevelName = root.getTopLevelNode().getName();
 
-        return (List<Method>) (List<?>) new NodesMatchingVisitor(n -> n.accept(new PredicateVisitor() {
+        return (List<Method>) (List<?>) NodesScanningVisitor.collect(root, n -> n.accept(new PredicateVisitor() {
             @Override
             public Boolean visit(Method node) {
                 return node.getSignature().getName().equals(toplevelName);
             }
-        })).visit(root);
+        }));
     }
 
     /**
@@ -117,9 +117,9 @@ public class TypeResolver implements Algorithm {
                 .collect(Collectors.toList());
     }
 
-    @SuppressWarnings("unchecked") // the nodes that are returned by the NodeMatchingVisitor are all instances of Method
+    @SuppressWarnings("unchecked") // the nodes that are returned by the NodesScanningVisitor are all instances of Method
     private List<Attribute> attributes(Root root) {
-        return (List<Attribute>) (List<?>) new NodesMatchingVisitor(NodePredicates::isAttribute).visit(root);
+        return (List<Attribute>) (List<?>) NodesScanningVisitor.collect(root, NodePredicates::isAttribute);
     }
 
     /**
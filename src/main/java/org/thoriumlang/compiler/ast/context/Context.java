@@ -16,25 +16,54 @@
 package org.thoriumlang.compiler.ast.context;
 
 import org.thoriumlang.compiler.ast.nodes.Node;
+import org.thoriumlang.compiler.ast.nodes.TypeSpec;
+import org.thoriumlang.compiler.symbols.SymbolTable;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
+/**
+ * Values attached to a {@link Node}, indexed by their type and optionally a name.
+ * <p>
+ * Every node has a context, so it is kept compact: the values of the types set on almost every node (see
+ * {@link #slot(java.lang.Class)}) are stored in a small array and the maps holding the other values are only created
+ * when needed. Looking up a value by its type does not allocate.
+ * </p>
+ */
 public class Context {
     private static final String KEY_CANNOT_BE_NULL = "key cannot be null";
     private static final String TYPE_CANNOT_BE_NULL = "type cannot be null";
     private static final String VALUE_CANNOT_BE_NULL = "value cannot be null";
+    private static final java.lang.Class<?>[] SLOT_TYPES = {
+            Relatives.class,
+            SymbolTable.class,
+            SourcePosition.class,
+            TypeSpec.class,
+            ReferencedNode.class
+    };
+    private static final int NO_SLOT = -1;
+
     private final Node node;
-    private final Map<Key, Object> map;
+    private Object[] slots;
+    private Map<java.lang.Class<?>, Object> typedValues;
+    private Map<Key, Object> namedValues;
 
     public Context(Node node) {
         this.node = node;
-        this.map = new HashMap<>();
+    }
+
+    private static int slot(java.lang.Class<?> type) {
+        for (int i = 0; i < SLOT_TYPES.length; i++) {
+            if (SLOT_TYPES[i] == type) {
+                return i;
+            }
+        }
+        return NO_SLOT;
     }
 
     public Node getNode() {
@@ -61,14 +90,39 @@ public class Context {
         if (value == null) {
             throw new IllegalArgumentException(VALUE_CANNOT_BE_NULL);
         }
-        return put(new Key(null, type), value);
+        putTyped(type, value);
+        return this;
     }
 
     private Context put(Key key, Object value) {
-        map.put(key, value);
+        if (key.name == null) {
+            putTyped(key.type, value);
+        }
+        else {
+            if (namedValues == null) {
+                namedValues = new HashMap<>(4);
+            }
+            namedValues.put(key, value);
+        }
         return this;
     }
 
+    private void putTyped(java.lang.Class<?> type, Object value) {
+        int slot = slot(type);
+        if (slot != NO_SLOT) {
+            if (slots == null) {
+                slots = new Object[SLOT_TYPES.length];
+            }
+            slots[slot] = value;
+        }
+        else {
+            if (typedValues == null) {
+                typedValues = new HashMap<>(4);
+            }
+            typedValues.put(type, value);
+        }
+    }
+
     @SuppressWarnings("unchecked") // we're sure the type will be the expected one thanks to put(Class<T>, T)
     public <T> Optional<T> get(String key, java.lang.Class<T> type) {
         if (key == null) {
@@ -85,14 +139,29 @@ public class Context {
         if (type == null) {
             throw new IllegalArgumentException(TYPE_CANNOT_BE_NULL);
         }
-        return (Optional<T>) get(new Key(null, type));
+        return Optional.ofNullable((T) getTyped(type));
     }
 
     public Optional<Object> get(Key key) {
         if (key == null) {
             throw new IllegalArgumentException(KEY_CANNOT_BE_NULL);
         }
-        return Optional.ofNullable(map.get(key));
+        return Optional.ofNullable(find(key));
+    }
+
+    private Object find(Key key) {
+        if (key.name == null) {
+            return getTyped(key.type);
+        }
+        return namedValues == null ? null : namedValues.get(key);
+    }
+
+    private Object getTyped(java.lang.Class<?> type) {
+        int slot = slot(type);
+        if (slot != NO_SLOT) {
+            return slots == null ? null : slots[slot];
+        }
+        return typedValues == null ? null : typedValues.get(type);
     }
 
     public <T> T require(java.lang.Class<T> type) {
@@ -128,12 +197,21 @@ public class Context {
         if (value == null) {
             throw new IllegalArgumentException(VALUE_CANNOT_BE_NULL);
         }
-        return (T) putIfAbsentAndGet(new Key(null, type), value);
+        Object existingValue = getTyped(type);
+        if (existingValue != null) {
+            return (T) existingValue;
+        }
+        putTyped(type, value);
+        return value;
     }
 
     private Object putIfAbsentAndGet(Key key, Object value) {
-        map.putIfAbsent(key, value);
-        return get(key).orElseThrow(() -> new IllegalStateException("key " + key + " not found"));
+        Object existingValue = find(key);
+        if (existingValue != null) {
+            return existingValue;
+        }
+        put(key, value);
+        return value;
     }
 
     public <T> boolean contains(String key, java.lang.Class<T> type) {
@@ -143,22 +221,33 @@ public class Context {
         if (type == null) {
             throw new IllegalArgumentException(TYPE_CANNOT_BE_NULL);
         }
-        return contains(new Key(key, type));
+        return find(new Key(key, type)) != null;
     }
 
     public <T> boolean contains(java.lang.Class<T> type) {
         if (type == null) {
             throw new IllegalArgumentException(TYPE_CANNOT_BE_NULL);
         }
-        return contains(new Key(null, type));
-    }
-
-    private boolean contains(Key key) {
-        return map.containsKey(key);
+        return getTyped(type) != null;
     }
 
     public Context putAll(Context other) {
-        map.putAll(other.map);
+        if (other.slots != null) {
+            for (int i = 0; i < other.slots.length; i++) {
+                if (other.slots[i] != null) {
+                    if (slots == null) {
+                        slots = new Object[SLOT_TYPES.length];
+                    }
+                    slots[i] = other.slots[i];
+                }
+            }
+        }
+        if (other.typedValues != null) {
+            other.typedValues.forEach(this::putTyped);
+        }
+        if (other.namedValues != null) {
+            other.namedValues.forEach(this::put);
+        }
         return this;
     }
 
@@ -170,9 +259,22 @@ public class Context {
     }
 
     public List<Key> keys() {
-        return map.keySet().stream()
-                .sorted(Comparator.comparing(Key::toString))
-                .collect(Collectors.toList());
+        List<Key> keys = new ArrayList<>();
+        if (slots != null) {
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] != null) {
+                    keys.add(new Key(null, SLOT_TYPES[i]));
+                }
+            }
+        }
+        if (typedValues != null) {
+            typedValues.keySet().forEach(type -> keys.add(new Key(null, type)));
+        }
+        if (namedValues != null) {
+            keys.addAll(namedValues.keySet());
+        }
+        keys.sort(Comparator.comparing(Key::toString));
+        return keys;
     }
 
     public static class Key {
@@ -204,7 +306,7 @@ public class Context {
 
         @Override
         public int hashCode() {
-            return Objects.hash(name, type);
+            return 31 * Objects.hashCode(name) + type.hashCode();
         }
     }
 }
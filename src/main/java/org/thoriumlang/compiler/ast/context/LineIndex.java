@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.ast.context;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Offsets of the beginning of each line of a source text. It is built once per source and shared by all the
+ * {@link SourcePosition}s of that source; lines are only extracted from the text when they are requested.
+ */
+public class LineIndex {
+    private final CharSequence text;
+    private final int[] lineStarts;
+    private final int lineCount;
+
+    private LineIndex(CharSequence text, int[] lineStarts, int lineCount) {
+        this.text = text;
+        this.lineStarts = lineStarts;
+        this.lineCount = lineCount;
+    }
+
+    public static LineIndex of(CharSequence text) {
+        Objects.requireNonNull(text, "text cannot be null");
+
+        int[] lineStarts = new int[16];
+        int lineCount = 1;
+
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                if (lineCount == lineStarts.length) {
+                    lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+                }
+                lineStarts[lineCount++] = i + 1;
+            }
+        }
+
+        return new LineIndex(text, lineStarts, lineCount);
+    }
+
+    /**
+     * @return the number of lines in the text.
+     */
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * @param line the line number, starting at 1.
+     * @return the text of the line, without the line terminator.
+     */
+    public String line(int line) {
+        checkLine(line);
+        return text.subSequence(lineStart(line), lineEnd(line)).toString();
+    }
+
+    /**
+     * @param line the line number, starting at 1.
+     * @return the length of the line, without the line terminator.
+     */
+    public int lineLength(int line) {
+        checkLine(line);
+        return lineEnd(line) - lineStart(line);
+    }
+
+    /**
+     * @param firstLine the first line number, starting at 1.
+     * @param lastLine  the last line number, inclusive.
+     * @return a view of the lines between <code>firstLine</code> and <code>lastLine</code>; each line is extracted
+     * when it is accessed.
+     */
+    public List<String> lines(int firstLine, int lastLine) {
+        checkLine(firstLine);
+        checkLine(lastLine);
+        if (lastLine < firstLine) {
+            throw new IllegalArgumentException("lastLine cannot be before firstLine");
+        }
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                if (index < 0 || index >= size()) {
+                    throw new IndexOutOfBoundsException(String.valueOf(index));
+                }
+                return line(firstLine + index);
+            }
+
+            @Override
+            public int size() {
+                return lastLine - firstLine + 1;
+            }
+        };
+    }
+
+    private int lineStart(int line) {
+        return lineStarts[line - 1];
+    }
+
+    private int lineEnd(int line) {
+        return line == lineCount ? text.length() : lineStarts[line] - 1;
+    }
+
+    private void checkLine(int line) {
+        if (line < 1 || line > lineCount) {
+            throw new IndexOutOfBoundsException(String.format("line %d not in [1, %d]", line, lineCount));
+        }
+    }
+}
@@ -19,18 +19,37 @@ import org.thoriumlang.compiler.ast.nodes.Node;
 import org.thoriumlang.compiler.ast.visitor.Visitor;
 import org.thoriumlang.compiler.collections.Lists;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+/**
+ * The family of a node: its parent and its children. Each relatives created with a parent is appended to the parent's
+ * children, so that {@link #children()}, {@link #sibling(int)}, {@link #nextSibling()} and {@link #previousSibling()}
+ * run in constant time. The methods taking a {@link Visitor} instead only consider the children the visitor returns.
+ */
 public class Relatives {
     private final Node node;
     private final Relatives parent;
+    private final int index;
+    private List<Relatives> children; // null until the first child is added
+    private List<Relatives> unmodifiableChildren;
 
     public Relatives(Node node, Relatives parent) {
         this.node = node;
         this.parent = parent;
+        this.index = parent == null ? 0 : parent.addChild(this);
+    }
+
+    private int addChild(Relatives child) {
+        if (children == null) {
+            children = new ArrayList<>();
+            unmodifiableChildren = Collections.unmodifiableList(children);
+        }
+        children.add(child);
+        return children.size() - 1;
     }
 
     public Relatives(Node node) {
@@ -45,6 +64,45 @@ public class Relatives {
         return Optional.ofNullable(parent);
     }
 
+    /**
+     * @return the index of the node among its parent's children.
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * @return the relatives created with this one as parent, in creation order.
+     */
+    public List<Relatives> children() {
+        return unmodifiableChildren == null ? Collections.emptyList() : unmodifiableChildren;
+    }
+
+    /**
+     * @return the children of the parent, including this one.
+     */
+    public List<Relatives> siblings() {
+        return parent == null
+                ? Collections.singletonList(this)
+                : parent.children();
+    }
+
+    public Optional<Relatives> sibling(int index) {
+        List<Relatives> siblings = siblings();
+        int siblingIndex = this.index + index;
+        return siblingIndex >= 0 && siblingIndex < siblings.size()
+                ? Optional.of(siblings.get(siblingIndex))
+                : Optional.empty();
+    }
+
+    public Optional<Relatives> nextSibling() {
+        return sibling(1);
+    }
+
+    public Optional<Relatives> previousSibling() {
+        return sibling(-1);
+    }
+
     public List<Relatives> children(Visitor<List<Node>> visitor) {
         return node.accept(visitor).stream()
                 .map(n -> n.getContext()
@@ -64,7 +122,8 @@ public class Relatives {
 
     public Optional<Relatives> sibling(int index, Visitor<List<Node>> visitor) {
         List<Relatives> siblings = siblings(visitor);
-        return Lists.indexOf(siblings, n -> n.node().getNodeId().equals(node.getNodeId()))
+        long nodeId = node.getNodeId().getId();
+        return Lists.indexOf(siblings, n -> n.node().getNodeId().getId() == nodeId)
                 .flatMap(i -> Lists.get(siblings, i + index));
     }
 
@@ -21,17 +21,31 @@ import java.util.Objects;
 public class SourcePosition {
     private final Position start;
     private final Position end;
-    private final String text;
-    private final List<String> lines;
+    private final LineIndex lineIndex;
+    private final int firstIndexedLine;
 
-    public SourcePosition(Position start, Position end, List<String> lines) {
+    /**
+     * @param start            the start position.
+     * @param end              the end position.
+     * @param lineIndex        the {@link LineIndex} of the whole source.
+     * @param firstIndexedLine the line of <code>lineIndex</code> matching the line of <code>start</code>.
+     */
+    private SourcePosition(Position start, Position end, LineIndex lineIndex, int firstIndexedLine) {
         if (end.compareTo(start) < 0) {
             throw new IllegalArgumentException("end cannot be before start");
         }
         this.start = start;
         this.end = end;
-        this.text = String.join("\n", lines);
-        this.lines = lines;
+        this.lineIndex = lineIndex;
+        this.firstIndexedLine = firstIndexedLine;
+    }
+
+    public SourcePosition(Position start, Position end, LineIndex lineIndex) {
+        this(start, end, lineIndex, start.line);
+    }
+
+    public SourcePosition(Position start, Position end, List<String> lines) {
+        this(start, end, LineIndex.of(String.join("\n", lines)), 1);
     }
 
     @Override
@@ -52,27 +66,27 @@ public class SourcePosition {
     }
 
     public String getText() {
-        return text;
+        return String.join("\n", getLines());
     }
 
     public List<String> getLines() {
-        return lines;
+        return lineIndex.lines(firstIndexedLine, indexedLine(end.line));
+    }
+
+    private int indexedLine(int line) {
+        return firstIndexedLine + line - start.line;
     }
 
     public int getLength() {
         if (start.line == end.line) {
             return end.column - start.column;
         }
-        int firstLineToEnd = lines.get(0).length() - (start.column - 1) + 1;
+        int firstLineToEnd = lineIndex.lineLength(firstIndexedLine) - (start.column - 1) + 1;
         int lastLineFromStart = end.column;
-        int inBetween = end.line > start.line + 1 ?
-                lines
-                        .subList(1, end.line - start.line)
-                        .stream()
-                        .map(l -> l.length() + 1)
-                        .reduce(Integer::sum)
-                        .orElse(0) :
-                0;
+        int inBetween = 0;
+        for (int line = start.line + 1; line < end.line; line++) {
+            inBetween += lineIndex.lineLength(indexedLine(line)) + 1;
+        }
         return firstLineToEnd + lastLineFromStart + inBetween;
     }
 
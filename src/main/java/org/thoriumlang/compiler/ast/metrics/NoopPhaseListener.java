@@ -1,5 +1,5 @@
 /*
- * Copyright 2019 Christophe Pollet
+ * Copyright 2021 Christophe Pollet
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,24 +13,16 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package org.thoriumlang.compiler.helpers;
+package org.thoriumlang.compiler.ast.metrics;
 
-import java.util.Arrays;
-import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
-
-public class Indent implements UnaryOperator<String> {
-    public static final Indent INSTANCE = new Indent("  ");
-    private final String level;
-
-    private Indent(String indent) {
-        this.level = indent;
+public class NoopPhaseListener implements PhaseListener {
+    @Override
+    public void onPhase(Phase phase) {
+        // noop
     }
 
     @Override
-    public String apply(String string) {
-        return Arrays.stream(string.split("\n"))
-                .map(s -> level + s)
-                .collect(Collectors.joining("\n"));
+    public boolean isEnabled() {
+        return false;
     }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.ast.metrics;
+
+import java.util.Objects;
+
+/**
+ * Measurements of one compilation phase of one source. Times are in nanoseconds; the CPU time and the allocated bytes
+ * are -1 when the JVM does not support measuring them.
+ */
+public class Phase {
+    private final String name;
+    private final long threadId;
+    private final long startNanos;
+    private final long wallNanos;
+    private final long cpuNanos;
+    private final long allocatedBytes;
+    private final int nodes;
+    private final int tokens;
+
+    @SuppressWarnings("squid:S00107")
+    public Phase(String name, long threadId, long startNanos, long wallNanos, long cpuNanos, long allocatedBytes,
+                 int nodes, int tokens) {
+        this.name = Objects.requireNonNull(name, "name cannot be null");
+        this.threadId = threadId;
+        this.startNanos = startNanos;
+        this.wallNanos = wallNanos;
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.nodes = nodes;
+        this.tokens = tokens;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} at which the phase started.
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return the count of AST nodes at the end of the phase, 0 for the phases preceding the AST construction.
+     */
+    public int getNodes() {
+        return nodes;
+    }
+
+    public int getTokens() {
+        return tokens;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %dns wall, %dns cpu, %d bytes, %d nodes, %d tokens",
+                name, wallNanos, cpuNanos, allocatedBytes, nodes, tokens
+        );
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.ast.metrics;
+
+/**
+ * Receives the {@link Phase}s of the compilation of a source.
+ */
+public interface PhaseListener {
+    void onPhase(Phase phase);
+
+    /**
+     * @return false if the phases don't need to be measured at all.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.ast.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the wall time, CPU time and allocated bytes of the current thread between its creation and the call to
+ * {@link #stop()}.
+ */
+public class Stopwatch {
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final long threadId;
+    private final long startNanos;
+    private final long startCpuNanos;
+    private final long startAllocatedBytes;
+    private long wallNanos;
+    private long cpuNanos;
+    private long allocatedBytes;
+
+    private Stopwatch() {
+        this.threadId = Thread.currentThread().getId();
+        this.startAllocatedBytes = allocatedBytes();
+        this.startCpuNanos = cpuNanos();
+        this.startNanos = System.nanoTime();
+    }
+
+    public static Stopwatch start() {
+        return new Stopwatch();
+    }
+
+    public Stopwatch stop() {
+        wallNanos = System.nanoTime() - startNanos;
+        cpuNanos = delta(startCpuNanos, cpuNanos());
+        allocatedBytes = delta(startAllocatedBytes, allocatedBytes());
+        return this;
+    }
+
+    public Phase phase(String name, int nodes, int tokens) {
+        return new Phase(name, threadId, startNanos, wallNanos, cpuNanos, allocatedBytes, nodes, tokens);
+    }
+
+    private static long delta(long start, long end) {
+        return start < 0 || end < 0 ? -1 : end - start;
+    }
+
+    private static long cpuNanos() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()
+                ? THREAD_MX_BEAN.getCurrentThreadCpuTime()
+                : -1;
+    }
+
+    private long allocatedBytes() {
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean.getThreadAllocatedBytes(threadId);
+            }
+        }
+        return -1;
+    }
+}
@@ -15,8 +15,6 @@
  */
 package org.thoriumlang.compiler.ast.nodes;
 
-import java.util.Objects;
-
 public class NodeId {
     private final long id;
 
@@ -24,6 +22,10 @@ public class NodeId {
         this.id = id;
     }
 
+    public long getId() {
+        return id;
+    }
+
     public String format(String formatString) {
         return String.format(formatString, id);
     }
@@ -47,6 +49,6 @@ public class NodeId {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return Long.hashCode(id);
     }
 }
@@ -17,14 +17,46 @@ package org.thoriumlang.compiler.ast.nodes;
 
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Generates unique node ids, starting at <code>1</code>. Each thread takes ids from its own block of consecutive ids,
+ * and only reserves a new block from the shared counter when its current block is exhausted. Ids are consecutive as
+ * long as a single thread uses the generator.
+ */
 public class NodeIdGenerator {
+    private static final int DEFAULT_BLOCK_SIZE = 1024;
+
     private final AtomicLong longGenerator;
+    private final int blockSize;
+    private final ThreadLocal<Block> blocks;
 
-    public NodeIdGenerator() {
+    public NodeIdGenerator(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
         this.longGenerator = new AtomicLong();
+        this.blockSize = blockSize;
+        this.blocks = ThreadLocal.withInitial(Block::new);
+    }
+
+    public NodeIdGenerator() {
+        this(DEFAULT_BLOCK_SIZE);
     }
 
     public NodeId next() {
-        return new NodeId(longGenerator.incrementAndGet());
+        return new NodeId(nextId());
+    }
+
+    public long nextId() {
+        Block block = blocks.get();
+        if (block.next == block.limit) {
+            block.limit = longGenerator.addAndGet(blockSize) + 1;
+            block.next = block.limit - blockSize;
+        }
+        return block.next++;
+    }
+
+    private static class Block {
+        private long next;
+        private long limit;
     }
 }
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.ast.visitor;
+
+import org.thoriumlang.compiler.ast.nodes.Attribute;
+import org.thoriumlang.compiler.ast.nodes.BooleanValue;
+import org.thoriumlang.compiler.ast.nodes.Class;
+import org.thoriumlang.compiler.ast.nodes.DirectAssignmentValue;
+import org.thoriumlang.compiler.ast.nodes.FunctionValue;
+import org.thoriumlang.compiler.ast.nodes.IdentifierValue;
+import org.thoriumlang.compiler.ast.nodes.IndirectAssignmentValue;
+import org.thoriumlang.compiler.ast.nodes.Method;
+import org.thoriumlang.compiler.ast.nodes.MethodCallValue;
+import org.thoriumlang.compiler.ast.nodes.MethodSignature;
+import org.thoriumlang.compiler.ast.nodes.NestedValue;
+import org.thoriumlang.compiler.ast.nodes.NewAssignmentValue;
+import org.thoriumlang.compiler.ast.nodes.Node;
+import org.thoriumlang.compiler.ast.nodes.NoneValue;
+import org.thoriumlang.compiler.ast.nodes.NumberValue;
+import org.thoriumlang.compiler.ast.nodes.Parameter;
+import org.thoriumlang.compiler.ast.nodes.Reference;
+import org.thoriumlang.compiler.ast.nodes.Root;
+import org.thoriumlang.compiler.ast.nodes.Statement;
+import org.thoriumlang.compiler.ast.nodes.StringValue;
+import org.thoriumlang.compiler.ast.nodes.Type;
+import org.thoriumlang.compiler.ast.nodes.TypeParameter;
+import org.thoriumlang.compiler.ast.nodes.TypeSpecFunction;
+import org.thoriumlang.compiler.ast.nodes.TypeSpecInferred;
+import org.thoriumlang.compiler.ast.nodes.TypeSpecIntersection;
+import org.thoriumlang.compiler.ast.nodes.TypeSpecSimple;
+import org.thoriumlang.compiler.ast.nodes.TypeSpecUnion;
+import org.thoriumlang.compiler.ast.nodes.Use;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Walks a tree of nodes in the same order as {@link NodesMatchingVisitor} and pushes each node matching a predicate to
+ * a sink. Unlike {@link NodesMatchingVisitor}, it does not build any intermediate list. The sink returns
+ * <code>false</code> to stop the traversal; each <code>visit</code> method returns <code>false</code> when the
+ * traversal was stopped.
+ */
+public class NodesScanningVisitor implements Visitor<Boolean> {
+    private final Predicate<Node> predicate;
+    private final Predicate<Node> sink;
+
+    /**
+     * @param predicate the predicate the nodes must match to be pushed to the sink.
+     * @param sink      the sink receiving the matching nodes; returns <code>true</code> to continue the traversal,
+     *                  <code>false</code> to stop it.
+     */
+    public NodesScanningVisitor(Predicate<Node> predicate, Predicate<Node> sink) {
+        this.predicate = Objects.requireNonNull(predicate, "predicate cannot be null");
+        this.sink = Objects.requireNonNull(sink, "sink cannot be null");
+    }
+
+    /**
+     * Calls the consumer for each node of the tree matching the predicate.
+     */
+    public static void forEach(Node node, Predicate<Node> predicate, Consumer<Node> consumer) {
+        node.accept(new NodesScanningVisitor(predicate, n -> {
+            consumer.accept(n);
+            return true;
+        }));
+    }
+
+    /**
+     * Returns the nodes of the tree matching the predicate, in the order {@link NodesMatchingVisitor} returns them.
+     */
+    public static List<Node> collect(Node node, Predicate<Node> predicate) {
+        List<Node> nodes = new ArrayList<>();
+        node.accept(new NodesScanningVisitor(predicate, nodes::add));
+        return nodes;
+    }
+
+    /**
+     * Returns the count of nodes of the tree matching the predicate.
+     */
+    public static int count(Node node, Predicate<Node> predicate) {
+        int[] count = {0};
+        node.accept(new NodesScanningVisitor(predicate, n -> {
+            count[0]++;
+            return true;
+        }));
+        return count[0];
+    }
+
+    /**
+     * Returns the first node of the tree matching the predicate, without visiting the remaining nodes.
+     */
+    public static Optional<Node> findFirst(Node node, Predicate<Node> predicate) {
+        Node[] first = {null};
+        node.accept(new NodesScanningVisitor(predicate, n -> {
+            first[0] = n;
+            return false;
+        }));
+        return Optional.ofNullable(first[0]);
+    }
+
+    private boolean matches(Node node) {
+        return !predicate.test(node) || sink.test(node);
+    }
+
+    private boolean scan(Node node) {
+        return node.accept(this);
+    }
+
+    private boolean scan(List<? extends Node> nodes) {
+        for (int i = 0, size = nodes.size(); i < size; i++) {
+            if (!nodes.get(i).accept(this)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Boolean visit(Root node) {
+        return matches(node)
+                && scan(node.getUses())
+                && scan(node.getTopLevelNode());
+    }
+
+    @Override
+    public Boolean visit(Use node) {
+        return matches(node);
+    }
+
+    @Override
+    public Boolean visit(Type node) {
+        return matches(node)
+                && scan(node.getTypeParameters())
+                && scan(node.getSuperType())
+                && scan(node.getMethods());
+    }
+
+    @Override
+    public Boolean visit(Class node) {
+        return matches(node)
+                && scan(node.getTypeParameters())
+                && scan(node.getSuperType())
+                && scan(node.getAttributes())
+                && scan(node.getMethods());
+    }
+
+    @Override
+    public Boolean visit(TypeSpecIntersection node) {
+        return matches(node)
+                && scan(node.getTypes());
+    }
+
+    @Override
+    public Boolean visit(TypeSpecUnion node) {
+        return matches(node)
+                && scan(node.getTypes());
+    }
+
+    @Override
+    public Boolean visit(TypeSpecSimple node) {
+        return matches(node)
+                && scan(node.getArguments());
+    }
+
+    @Override
+    public Boolean visit(TypeSpecFunction node) {
+        return matches(node)
+                && scan(node.getArguments())
+                && scan(node.getReturnType());
+    }
+
+    @Override
+    public Boolean visit(TypeSpecInferred node) {
+        return matches(node);
+    }
+
+    @Override
+    public Boolean visit(MethodSignature node) {
+        return matches(node)
+                && scan(node.getTypeParameters())
+                && scan(node.getParameters())
+                && scan(node.getReturnType());
+    }
+
+    @Override
+    public Boolean visit(Parameter node) {
+        return matches(node)
+                && scan(node.getType());
+    }
+
+    @Override
+    public Boolean visit(TypeParameter node) {
+        return matches(node);
+    }
+
+    @Override
+    public Boolean visit(StringValue node) {
+        return matches(node);
+    }
+
+    @Override
+    public Boolean visit(NumberValue node) {
+        return matches(node);
+    }
+
+    @Override
+    public Boolean visit(BooleanValue node) {
+        return matches(node);
+    }
+
+    @Override
+    public Boolean visit(NoneValue node) {
+        return matches(node);
+    }
+
+    @Override
+    public Boolean visit(IdentifierValue node) {
+        return matches(node)
+                && scan(node.getReference());
+    }
+
+    @Override
+    public Boolean visit(NewAssignmentValue node) {
+        return matches(node)
+                && scan(node.getType())
+                && scan(node.getValue());
+    }
+
+    @Override
+    public Boolean visit(IndirectAssignmentValue node) {
+        return matches(node)
+                && scan(node.getReference())
+                && scan(node.getIndirectValue())
+                && scan(node.getValue());
+    }
+
+    @Override
+    public Boolean visit(DirectAssignmentValue node) {
+        return matches(node)
+                && scan(node.getReference())
+                && scan(node.getValue());
+    }
+
+    @Override
+    public Boolean visit(MethodCallValue node) {
+        return matches(node)
+                && scan(node.getMethodReference())
+                && scan(node.getTypeArguments())
+                && scan(node.getMethodArguments());
+    }
+
+    @Override
+    public Boolean visit(NestedValue node) {
+        return matches(node)
+                && scan(node.getInner())
+                && scan(node.getOuter());
+    }
+
+    @Override
+    public Boolean visit(FunctionValue node) {
+        return matches(node)
+                && scan(node.getTypeParameters())
+                && scan(node.getParameters())
+                && scan(node.getReturnType())
+                && scan(node.getStatements());
+    }
+
+    @Override
+    public Boolean visit(Statement node) {
+        return matches(node)
+                && scan(node.getValue());
+    }
+
+    @Override
+    public Boolean visit(Method node) {
+        return matches(node)
+                && scan(node.getSignature())
+                && scan(node.getStatements());
+    }
+
+    @Override
+    public Boolean visit(Attribute node) {
+        return matches(node)
+                && scan(node.getType())
+                && scan(node.getValue());
+    }
+
+    @Override
+    public Boolean visit(Reference node) {
+        return matches(node);
+    }
+}
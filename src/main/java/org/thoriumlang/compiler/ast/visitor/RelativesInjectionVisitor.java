@@ -38,11 +38,16 @@ import org.thoriumlang.compiler.ast.nodes.TypeSpecSimple;
 import org.thoriumlang.compiler.ast.nodes.TypeSpecUnion;
 import org.thoriumlang.compiler.ast.nodes.Use;
 
+/**
+ * Injects the {@link Relatives} of each node. The children of a node are registered in the order
+ * {@link NodesScanningVisitor} visits them.
+ */
 // TODO make sure what is done survive the tree rewrites... (see https://github.com/thoriumlang/thc/issues/69)
 public class RelativesInjectionVisitor extends IdentityVisitor {
     @Override
     public Node visit(Root node) {
-        Relatives relatives = family(node);
+        Relatives relatives = new Relatives(node);
+        node.getContext().put(Relatives.class, relatives);
         node.getUses().forEach(n -> setFamilyRecursively(n, relatives));
         setFamilyRecursively(node.getTopLevelNode(), relatives);
         return node;
@@ -67,19 +72,19 @@ public class RelativesInjectionVisitor extends IdentityVisitor {
     @Override
     public Node visit(Type node) {
         Relatives relatives = family(node);
-        node.getMethods().forEach(n -> setFamilyRecursively(n, relatives));
         node.getTypeParameters().forEach(n -> setFamilyRecursively(n, relatives));
         setFamilyRecursively(node.getSuperType(), relatives);
+        node.getMethods().forEach(n -> setFamilyRecursively(n, relatives));
         return node;
     }
 
     @Override
     public Node visit(Class node) {
         Relatives relatives = family(node);
-        node.getAttributes().forEach(n -> setFamilyRecursively(n, relatives));
         node.getTypeParameters().forEach(n -> setFamilyRecursively(n, relatives));
-        node.getMethods().forEach(n -> setFamilyRecursively(n, relatives));
         setFamilyRecursively(node.getSuperType(), relatives);
+        node.getAttributes().forEach(n -> setFamilyRecursively(n, relatives));
+        node.getMethods().forEach(n -> setFamilyRecursively(n, relatives));
         return node;
     }
 
@@ -157,8 +162,8 @@ public class RelativesInjectionVisitor extends IdentityVisitor {
     public Node visit(MethodCallValue node) {
         Relatives relatives = family(node);
         setFamilyRecursively(node.getMethodReference(), relatives);
-        node.getMethodArguments().forEach(n -> setFamilyRecursively(n, relatives));
         node.getTypeArguments().forEach(n -> setFamilyRecursively(n, relatives));
+        node.getMethodArguments().forEach(n -> setFamilyRecursively(n, relatives));
         return node;
     }
 
@@ -182,8 +187,8 @@ public class RelativesInjectionVisitor extends IdentityVisitor {
         Relatives relatives = family(node);
         node.getTypeParameters().forEach(n -> setFamilyRecursively(n, relatives));
         node.getParameters().forEach(n -> setFamilyRecursively(n, relatives));
-        node.getStatements().forEach(n -> setFamilyRecursively(n, relatives));
         setFamilyRecursively(node.getReturnType(), relatives);
+        node.getStatements().forEach(n -> setFamilyRecursively(n, relatives));
         return node;
     }
 
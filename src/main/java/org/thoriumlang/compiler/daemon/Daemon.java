@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.daemon;
+
+import org.thoriumlang.compiler.antlr4.ParserWarmup;
+import org.thoriumlang.compiler.api.AsyncCompilationListener;
+import org.thoriumlang.compiler.api.CompilationListener;
+import org.thoriumlang.compiler.api.Compiler;
+import org.thoriumlang.compiler.api.NoopBuildCache;
+import org.thoriumlang.compiler.api.Plugin;
+import org.thoriumlang.compiler.input.Source;
+import org.thoriumlang.compiler.input.SourceFiles;
+import org.thoriumlang.compiler.input.loaders.TypeLoaderCache;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compiler daemon listening on the loopback interface. Each request compiles all the sources of its source root with
+ * a new {@link Compiler}, so that every request reports all the events and errors of its sources. The repeated builds
+ * run in a warm JVM, with a warm parser, and reuse the type names resolutions of the previous builds of the same source
+ * root; the resolutions that may depend on the sources are forgotten as soon as one of the sources changed.
+ * <p>
+ * See {@link DaemonClient} to submit compilation requests.
+ * </p>
+ */
+public class Daemon implements Closeable {
+    private final ServerSocket serverSocket;
+    private final List<Plugin> plugins;
+    private final Executor executor;
+    private final ExecutorService connections;
+    private final Map<Path, Workspace> workspaces;
+
+    /**
+     * @param port     the port to listen on, 0 to use any free port.
+     * @param plugins  the plugins to execute after each successfully parsed {@link Source}.
+     * @param executor the executor on which the sources are compiled.
+     * @throws IOException if the port cannot be bound.
+     */
+    public Daemon(int port, List<Plugin> plugins, Executor executor) throws IOException {
+        this.plugins = Objects.requireNonNull(plugins, "plugins cannot be null");
+        this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+        this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        this.connections = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "thc-daemon-connection");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.workspaces = new ConcurrentHashMap<>();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Starts accepting connections in a background thread.
+     */
+    public void start() {
+        Thread thread = new Thread(this::serve, "thc-daemon");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Accepts connections in the current thread, until the daemon is closed. The parser is warmed up before the first
+     * connection is accepted, see {@link ParserWarmup}.
+     */
+    public void serve() {
+        ParserWarmup.warmUp();
+
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> handle(socket));
+            }
+            catch (SocketException e) {
+                // server socket closed
+                return;
+            }
+            catch (IOException e) {
+                // try with the next connection
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (
+                Socket s = socket;
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8)
+                );
+                PrintWriter writer = new PrintWriter(
+                        new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8)
+                )
+        ) {
+            SocketCompilationListener listener = new SocketCompilationListener(writer);
+            List<String> request = Optional.ofNullable(reader.readLine())
+                    .map(Protocol::fields)
+                    .orElse(Collections.emptyList());
+
+            if (request.size() != 2 || !request.get(0).equals(Protocol.COMPILE)) {
+                listener.onFailure("invalid request: " + request);
+                return;
+            }
+
+            // the client reads the events at its own pace, the compilation must not wait for it
+            try (AsyncCompilationListener asyncListener = new AsyncCompilationListener(listener)) {
+                workspace(Paths.get(request.get(1))).compile(asyncListener);
+            }
+            catch (RuntimeException e) {
+                listener.onFailure(e.toString());
+            }
+        }
+        catch (IOException e) {
+            // client is gone, nothing to report to
+        }
+    }
+
+    private Workspace workspace(Path root) {
+        return workspaces.computeIfAbsent(root.toAbsolutePath().normalize(), Workspace::new);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    private class Workspace {
+        private final SourceFiles sourceFiles;
+        private Map<Source, Optional<String>> digests;
+        private final TypeLoaderCache typeLoaderCache;
+
+        private Workspace(Path root) {
+            this.sourceFiles = new SourceFiles(root);
+            this.typeLoaderCache = new TypeLoaderCache();
+            this.digests = Collections.emptyMap();
+        }
+
+        private synchronized void compile(CompilationListener listener) {
+            sourceFiles.refresh();
+
+            Map<Source, Optional<String>> currentDigests = sourceFiles.sources().stream()
+                    .collect(Collectors.toMap(Function.identity(), Source::digest));
+
+            if (!currentDigests.equals(digests)) {
+                typeLoaderCache.invalidate(sourceFiles);
+                digests = currentDigests;
+            }
+
+            new Compiler(listener, plugins, executor, new NoopBuildCache(), typeLoaderCache).compile(sourceFiles);
+        }
+    }
+}
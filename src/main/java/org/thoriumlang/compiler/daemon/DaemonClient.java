@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.daemon;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Submits compilation requests to a {@link Daemon} running on the local host.
+ */
+public class DaemonClient {
+    private final int port;
+
+    public DaemonClient(int port) {
+        this.port = port;
+    }
+
+    /**
+     * Compiles the sources found under a root, blocking until the compilation finishes.
+     *
+     * @param root     the source root to compile.
+     * @param listener the listener receiving the compilation events.
+     * @throws IOException if the daemon cannot be reached or if the compilation failed.
+     */
+    public void compile(Path root, DaemonListener listener) throws IOException {
+        Objects.requireNonNull(root, "root cannot be null");
+        Objects.requireNonNull(listener, "listener cannot be null");
+
+        try (
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                PrintWriter writer = new PrintWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)
+                );
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)
+                )
+        ) {
+            writer.println(Protocol.message(Protocol.COMPILE, root.toAbsolutePath().toString()));
+            writer.flush();
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (dispatch(Protocol.fields(line), listener)) {
+                    return;
+                }
+            }
+
+            throw new EOFException("connection closed before the end of the compilation");
+        }
+    }
+
+    /**
+     * @return true if the message is the last one of the response.
+     */
+    private boolean dispatch(List<String> message, DaemonListener listener) throws IOException {
+        switch (message.get(0)) {
+            case Protocol.COMPILATION_STARTED:
+                listener.onCompilationStarted();
+                return false;
+            case Protocol.COMPILATION_FINISHED:
+                listener.onCompilationFinished();
+                return true;
+            case Protocol.SOURCE_STARTED:
+                listener.onSourceStarted(message.get(1));
+                return false;
+            case Protocol.SOURCE_FINISHED:
+                listener.onSourceFinished(message.get(1));
+                return false;
+            case Protocol.ERROR:
+                listener.onError(message.get(1), message.get(2));
+                return false;
+            case Protocol.FAILED:
+                throw new IOException("compilation failed: " + message.get(1));
+            default:
+                throw new IOException("unexpected message: " + message);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.daemon;
+
+/**
+ * Receives the compilation events streamed back by a {@link Daemon}. Sources and errors are received in their
+ * textual form.
+ */
+public interface DaemonListener {
+    void onCompilationStarted();
+
+    void onCompilationFinished();
+
+    void onSourceStarted(String source);
+
+    void onSourceFinished(String source);
+
+    void onError(String source, String error);
+}
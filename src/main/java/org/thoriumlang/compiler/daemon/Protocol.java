@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.daemon;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line-based protocol spoken between {@link Daemon} and {@link DaemonClient}. A request is a single line made of a
+ * command and its argument. The response is a sequence of messages, one per line, ending with either
+ * {@link #COMPILATION_FINISHED} or {@link #FAILED}. Fields are separated by tabs; tabs, new lines and backslashes in
+ * fields are escaped.
+ */
+final class Protocol {
+    static final String COMPILE = "compile";
+
+    static final String COMPILATION_STARTED = "compilationStarted";
+    static final String COMPILATION_FINISHED = "compilationFinished";
+    static final String SOURCE_STARTED = "sourceStarted";
+    static final String SOURCE_FINISHED = "sourceFinished";
+    static final String ERROR = "error";
+    static final String FAILED = "failed";
+
+    private static final char SEPARATOR = '\t';
+    private static final char ESCAPE = '\\';
+
+    private Protocol() {
+        // nothing
+    }
+
+    static String message(String... fields) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                sb.append(SEPARATOR);
+            }
+            escape(fields[i], sb);
+        }
+        return sb.toString();
+    }
+
+    private static void escape(String field, StringBuilder sb) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            switch (c) {
+                case ESCAPE:
+                    sb.append(ESCAPE).append(ESCAPE);
+                    break;
+                case SEPARATOR:
+                    sb.append(ESCAPE).append('t');
+                    break;
+                case '\n':
+                    sb.append(ESCAPE).append('n');
+                    break;
+                case '\r':
+                    sb.append(ESCAPE).append('r');
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+    }
+
+    static List<String> fields(String message) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            }
+            else if (c == ESCAPE && i + 1 < message.length()) {
+                field.append(unescape(message.charAt(++i)));
+            }
+            else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+
+        return fields;
+    }
+
+    private static char unescape(char c) {
+        switch (c) {
+            case 't':
+                return SEPARATOR;
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            default:
+                return c;
+        }
+    }
+}
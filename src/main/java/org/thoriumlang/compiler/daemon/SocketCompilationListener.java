@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.daemon;
+
+import org.thoriumlang.compiler.api.CompilationContext;
+import org.thoriumlang.compiler.api.CompilationListener;
+import org.thoriumlang.compiler.api.Event;
+import org.thoriumlang.compiler.api.errors.CompilationError;
+import org.thoriumlang.compiler.input.Source;
+
+import java.io.PrintWriter;
+import java.util.Objects;
+
+/**
+ * {@link CompilationListener} writing the events to a {@link Daemon} client. {@link Event}s are not forwarded as
+ * their payloads are in-process objects.
+ */
+class SocketCompilationListener implements CompilationListener {
+    private final PrintWriter writer;
+
+    SocketCompilationListener(PrintWriter writer) {
+        this.writer = Objects.requireNonNull(writer, "writer cannot be null");
+    }
+
+    private synchronized void send(String... fields) {
+        writer.println(Protocol.message(fields));
+        writer.flush();
+    }
+
+    @Override
+    public void onCompilationStarted() {
+        send(Protocol.COMPILATION_STARTED);
+    }
+
+    @Override
+    public void onCompilationFinished() {
+        send(Protocol.COMPILATION_FINISHED);
+    }
+
+    @Override
+    public void onSourceStarted(Source source) {
+        send(Protocol.SOURCE_STARTED, source.toString());
+    }
+
+    @Override
+    public void onSourceFinished(Source source, CompilationContext context) {
+        send(Protocol.SOURCE_FINISHED, source.toString());
+    }
+
+    @Override
+    public void onError(Source source, CompilationError error) {
+        send(Protocol.ERROR, source.toString(), error.toString());
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        // noop
+    }
+
+    void onFailure(String message) {
+        send(Protocol.FAILED, message);
+    }
+}
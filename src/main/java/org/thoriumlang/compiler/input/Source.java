@@ -17,10 +17,12 @@ package org.thoriumlang.compiler.input;
 
 import org.thoriumlang.compiler.ast.AST;
 import org.thoriumlang.compiler.ast.algorithms.Algorithm;
+import org.thoriumlang.compiler.ast.metrics.PhaseListener;
 import org.thoriumlang.compiler.ast.nodes.NodeIdGenerator;
 import org.thoriumlang.compiler.symbols.SymbolTable;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Represents a source to compile.
@@ -29,4 +31,21 @@ import java.util.List;
  */
 public interface Source {
     AST ast(NodeIdGenerator nodeIdGenerator, SymbolTable symbolTable, List<Algorithm> algorithms);
+
+    /**
+     * Same as {@link #ast(NodeIdGenerator, SymbolTable, List)}, reporting the measurements of each compilation phase
+     * to a {@link PhaseListener}. Sources not able to measure their phases ignore the listener.
+     */
+    default AST ast(NodeIdGenerator nodeIdGenerator, SymbolTable symbolTable, List<Algorithm> algorithms,
+                    PhaseListener phaseListener) {
+        return ast(nodeIdGenerator, symbolTable, algorithms);
+    }
+
+    /**
+     * @return a digest of the source's content, used to detect changes between two compilations. Empty if the source
+     * is not able to compute one.
+     */
+    default Optional<String> digest() {
+        return Optional.empty();
+    }
 }
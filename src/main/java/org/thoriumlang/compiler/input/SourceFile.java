@@ -15,20 +15,36 @@
  */
 package org.thoriumlang.compiler.input;
 
+import com.google.common.io.BaseEncoding;
+import org.antlr.v4.runtime.CharStream;
+import org.thoriumlang.compiler.antlr4.ByteBufferCharStream;
 import org.thoriumlang.compiler.ast.AST;
 import org.thoriumlang.compiler.ast.algorithms.Algorithm;
+import org.thoriumlang.compiler.ast.metrics.NoopPhaseListener;
+import org.thoriumlang.compiler.ast.metrics.PhaseListener;
 import org.thoriumlang.compiler.ast.nodes.NodeIdGenerator;
 import org.thoriumlang.compiler.symbols.SymbolTable;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
+/**
+ * {@link Source} stored in a file. The file is read once in a heap buffer, which the lexer reads from and where the
+ * lines of the source positions and of the errors are read back from. The file is not memory-mapped: the source
+ * positions outlive the compilation and must not be affected by later changes of the file, nor lock it.
+ */
 public class SourceFile implements Source {
+    private static final int DIGEST_BUFFER_SIZE = 8192;
+
     private final String namespace;
     private final Path path;
 
@@ -39,18 +55,29 @@ public class SourceFile implements Source {
 
     @Override
     public AST ast(NodeIdGenerator nodeIdGenerator, SymbolTable symbolTable, List<Algorithm> algorithms) {
+        return ast(nodeIdGenerator, symbolTable, algorithms, new NoopPhaseListener());
+    }
+
+    @Override
+    public AST ast(NodeIdGenerator nodeIdGenerator, SymbolTable symbolTable, List<Algorithm> algorithms,
+                   PhaseListener phaseListener) {
         return new AST(
-                inputStream(),
+                this::charStream,
                 namespace(),
                 nodeIdGenerator,
                 algorithms,
-                symbolTable
+                symbolTable,
+                phaseListener
         );
     }
 
-    private InputStream inputStream() {
+    private CharStream charStream() {
+        return ByteBufferCharStream.of(read(), path.toString());
+    }
+
+    private ByteBuffer read() {
         try {
-            return Files.newInputStream(path);
+            return ByteBuffer.wrap(Files.readAllBytes(path));
         }
         catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -61,6 +88,24 @@ public class SourceFile implements Source {
         return namespace;
     }
 
+    @Override
+    public Optional<String> digest() {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, read);
+            }
+            return Optional.of(BaseEncoding.base16().lowerCase().encode(messageDigest.digest()));
+        }
+        catch (NoSuchAlgorithmException e) {
+            return Optional.empty();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
     @Override
     public String toString() {
@@ -18,34 +18,52 @@ package org.thoriumlang.compiler.input;
 
 import org.thoriumlang.compiler.symbols.Name;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Thorium source files found below a <code>.throot</code> directory. The source tree is indexed on first access: the
+ * index maps each source file to its namespace and each fully qualified name to its source file. It is rebuilt after a
+ * call to {@link #refresh()}, or automatically when the tree changes if it is watched with {@link #watch()}.
+ */
 public class SourceFiles implements Sources {
-    private static final BiPredicate<Path, BasicFileAttributes> thSourcesMatcher = (path, basicFileAttributes) ->
-            basicFileAttributes.isRegularFile() && path.getFileName().toString().matches(".*\\.th$");
+    private static final String TH_EXTENSION = ".th";
     private static final BiPredicate<Path, BasicFileAttributes> thRootMatcher = (path, basicFileAttributes) ->
             basicFileAttributes.isRegularFile() && path.getFileName().toString().matches("^\\.throot$");
 
     private final Path root;
     private final Path searchPath;
-    private final BiPredicate<Path, BasicFileAttributes> filter;
+    private final Predicate<Path> filter;
+    private volatile Index index;
 
     public SourceFiles(Path searchPath, Predicate<Path> filter) {
-        this.root = findRoot(searchPath).orElseThrow(() -> new IllegalArgumentException("No .throot file found"));
+        this.root = findRoot(searchPath)
+                .map(Path::getParent)
+                .orElseThrow(() -> new IllegalArgumentException("No .throot file found"));
         this.searchPath = searchPath;
-        this.filter = (path, basicFileAttributes) -> filter.test(path);
+        this.filter = filter;
     }
 
     public SourceFiles(Path root) {
@@ -79,72 +97,164 @@ public class SourceFiles implements Sources {
 
     @Override
     public List<Source> sources() {
-        List<Path> thRoots = findThRoots();
-
-        try (Stream<Path> sourcePaths = findRecursive(
-                searchPath,
-                (p, bfa) -> thSourcesMatcher.test(p, bfa) && filter.test(p, bfa)
-        )) {
-            return sourcePaths
-                    .map(path -> new SourceFile(
-                            namespace(
-                                    path.getParent().normalize(),
-                                    path.normalize(),
-                                    thRoots
-                            ),
-                            path
-                    ))
-                    .collect(Collectors.toList());
-        }
+        return index().namespaces.entrySet().stream()
+                .filter(e -> e.getKey().startsWith(searchPath))
+                .filter(e -> filter.test(e.getKey()))
+                .map(e -> new SourceFile(e.getValue(), e.getKey()))
+                .collect(Collectors.toList());
     }
 
-    private List<Path> findThRoots() {
-        try (Stream<Path> paths = findRecursive(root, thRootMatcher)) {
-            return paths
-                    .map(Path::getParent)
-                    .collect(Collectors.toList());
+    @Override
+    public Optional<Source> load(Name name) {
+        return Optional.ofNullable(index().sources.get(name.getFullName()));
+    }
+
+    /**
+     * Discards the index. It is rebuilt on next access.
+     */
+    public void refresh() {
+        index = null;
+    }
+
+    /**
+     * Watches the source tree and discards the index each time a file or directory is created or deleted in it.
+     *
+     * @return a {@link Closeable} that stops watching the source tree.
+     */
+    public Closeable watch() {
+        try {
+            WatchService watchService = root.getFileSystem().newWatchService();
+
+            try (Stream<Path> directories = Files.find(root, Integer.MAX_VALUE, (p, bfa) -> bfa.isDirectory())) {
+                for (Path directory : directories.collect(Collectors.toList())) {
+                    register(watchService, directory);
+                }
+            }
+
+            Thread thread = new Thread(() -> watch(watchService), "thc-source-files-watcher");
+            thread.setDaemon(true);
+            thread.start();
+
+            return watchService;
         }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void register(WatchService watchService, Path directory) throws IOException {
+        directory.register(
+                watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE
+        );
     }
 
-    private Stream<Path> findRecursive(Path start, BiPredicate<Path, BasicFileAttributes> matcher) {
+    private void watch(WatchService watchService) {
         try {
-            return Files.find(start, 999, matcher);
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                        Path path = ((Path) key.watchable()).resolve((Path) event.context());
+                        if (Files.isDirectory(path)) {
+                            register(watchService, path);
+                        }
+                    }
+                }
+                refresh();
+                key.reset();
+            }
+        }
+        catch (ClosedWatchServiceException e) {
+            // the watch was closed, we're done
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
         catch (IOException e) {
+            refresh();
             throw new UncheckedIOException(e);
         }
     }
 
-    private String namespace(Path path, Path fullPath, List<Path> thRoots) {
-        if (!thRoots.contains(path)) {
-            return namespace(path.getParent(), fullPath, thRoots);
+    private Index index() {
+        Index currentIndex = index;
+        if (currentIndex == null) {
+            synchronized (this) {
+                currentIndex = index;
+                if (currentIndex == null) {
+                    currentIndex = new Index(root);
+                    index = currentIndex;
+                }
+            }
         }
-        return fullPath
-                .getParent()
-                .toString()
-                .substring(path.toString().length())
-                .replace(File.separator, ".")
-                .replaceFirst("^\\.", "");
+        return currentIndex;
     }
 
-    @Override
-    public Optional<Source> load(Name name) {
-        for (Path rootPath : findThRoots()) {
-            Path path = rootPath.resolve(name.getFullName().replace(".", File.separator) + ".th");
-
-            if (Files.exists(path)) {
-                return Optional.of(
-                        new SourceFile(
-                                namespace(
-                                        path.getParent(),
-                                        path,
-                                        Collections.singletonList(rootPath)
-                                ),
-                                path
-                        )
-                );
+    private static class Index {
+        /**
+         * Maps each source file to its namespace, in the order they were found.
+         */
+        private final Map<Path, String> namespaces;
+        /**
+         * Maps each fully qualified name to the source defining it, relative to any of the enclosing .throot.
+         */
+        private final Map<String, Source> sources;
+
+        private Index(Path root) {
+            Set<Path> thRoots = new HashSet<>();
+            List<Path> thSources = new ArrayList<>();
+
+            try (Stream<Path> paths = Files.find(root, 999, (path, basicFileAttributes) ->
+                    basicFileAttributes.isRegularFile() && (
+                            path.getFileName().toString().endsWith(TH_EXTENSION) ||
+                                    thRootMatcher.test(path, basicFileAttributes)
+                    )
+            )) {
+                paths.forEach(path -> {
+                    if (path.getFileName().toString().endsWith(TH_EXTENSION)) {
+                        thSources.add(path);
+                    }
+                    else {
+                        thRoots.add(path.getParent());
+                    }
+                });
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            this.namespaces = new LinkedHashMap<>();
+            this.sources = new HashMap<>();
+
+            for (Path path : thSources) {
+                boolean nearestRoot = true;
+                for (Path parent = path.getParent(); parent != null; parent = parent.getParent()) {
+                    if (thRoots.contains(parent)) {
+                        String namespace = namespace(parent, path);
+                        if (nearestRoot) {
+                            namespaces.put(path, namespace);
+                            nearestRoot = false;
+                        }
+                        sources.putIfAbsent(fqName(namespace, path), new SourceFile(namespace, path));
+                    }
+                }
             }
         }
-        return Optional.empty();
+
+        private static String namespace(Path thRoot, Path path) {
+            return thRoot
+                    .relativize(path.getParent())
+                    .toString()
+                    .replace(File.separator, ".");
+        }
+
+        private static String fqName(String namespace, Path path) {
+            String fileName = path.getFileName().toString();
+            String simpleName = fileName.substring(0, fileName.length() - TH_EXTENSION.length());
+
+            return namespace.isEmpty() ? simpleName : namespace + "." + simpleName;
+        }
     }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.input.loaders;
+
+import org.thoriumlang.compiler.ast.nodes.Node;
+import org.thoriumlang.compiler.symbols.Name;
+import org.thoriumlang.compiler.symbols.Symbol;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A chain of {@link TypeLoader}s, tried in order, remembering in a {@link TypeLoaderCache} which one resolves each
+ * name. Names resolved before only go through the loader that resolved them; names known not to exist go through none.
+ * All the instances sharing a cache must be given the same kinds of loaders, in the same order.
+ */
+public class CachingTypeLoader implements TypeLoader {
+    private final TypeLoaderCache cache;
+    private final List<TypeLoader> typeLoaders;
+
+    public CachingTypeLoader(TypeLoaderCache cache, List<TypeLoader> typeLoaders) {
+        this.cache = Objects.requireNonNull(cache, "cache cannot be null");
+        this.typeLoaders = Objects.requireNonNull(typeLoaders, "typeLoaders cannot be null");
+    }
+
+    @Override
+    public Optional<Symbol> load(Name name, Node triggerNode) {
+        String fullName = name.getFullName();
+        TypeLoaderCache.Resolution resolution = cache.get(fullName);
+
+        if (resolution != null) {
+            if (!resolution.isFound()) {
+                return Optional.empty();
+            }
+            Optional<Symbol> symbol = typeLoaders.get(resolution.loaderIndex()).load(name, triggerNode);
+            if (symbol.isPresent()) {
+                return symbol;
+            }
+        }
+
+        for (int i = 0; i < typeLoaders.size(); i++) {
+            TypeLoader typeLoader = typeLoaders.get(i);
+            Optional<Symbol> symbol = typeLoader.load(name, triggerNode);
+            if (symbol.isPresent()) {
+                cache.put(fullName, new TypeLoaderCache.Resolution(i, typeLoader.dependsOnSources()));
+                return symbol;
+            }
+        }
+
+        cache.put(fullName, TypeLoaderCache.Resolution.NOT_FOUND);
+        return Optional.empty();
+    }
+}
@@ -16,49 +16,76 @@
 package org.thoriumlang.compiler.input.loaders;
 
 import org.thoriumlang.compiler.ast.nodes.Node;
+import org.thoriumlang.compiler.input.loaders.classfile.ClassFinder;
+import org.thoriumlang.compiler.input.loaders.classfile.ClassPath;
+import org.thoriumlang.compiler.input.loaders.classfile.JdkTypeIndex;
 import org.thoriumlang.compiler.symbols.JavaClass;
 import org.thoriumlang.compiler.symbols.JavaInterface;
 import org.thoriumlang.compiler.symbols.Name;
 import org.thoriumlang.compiler.symbols.Symbol;
 
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Objects;
 import java.util.Optional;
 
+/**
+ * Loads the public types of the JDK without loading the classes in the JVM. By default, they are looked up in a
+ * {@link JdkTypeIndex} stored in the <code>.cache/thc</code> directory of the user's home, which is written the first
+ * time it is needed. Its location can be changed with the <code>thc.jdk.index</code> system property. When the index
+ * cannot be written, the class files are read from the JDK each time.
+ */
 public class JavaRTClassLoader implements TypeLoader {
-    private final URLClassLoader classLoader;
+    private final ClassFinder classFinder;
+
+    public JavaRTClassLoader(ClassFinder classFinder) {
+        this.classFinder = Objects.requireNonNull(classFinder, "classFinder cannot be null");
+    }
 
-    @SuppressWarnings("squid:S00112") // we want to throw Error here
     public JavaRTClassLoader() {
-        try {
-            classLoader = new URLClassLoader(
-                    new URL[]{
-                            Paths.get(
-                                    System.getProperty("sun.boot.class.path"),
-                                    "rt.jar"
-                            ).toUri().toURL()
-                    },
-                    null
-            );
-        } catch (MalformedURLException e) {
-            throw new Error(e);
-        }
+        this(ClassFinderHolder.CLASS_FINDER);
     }
 
     @Override
     public Optional<Symbol> load(Name name, Node triggerNode) {
-        try {
-            Class<?> clazz = classLoader.loadClass(name.getFullName());
+        return classFinder.find(name.getFullName())
+                .map(classFile -> classFile.isInterface() ?
+                        JavaInterface.of(triggerNode, classFile) :
+                        JavaClass.of(triggerNode, classFile)
+                );
+    }
+
+    @Override
+    public boolean dependsOnSources() {
+        return false;
+    }
+
+    /**
+     * Opens the JDK index once per JVM and only when first needed, so that all instances share it.
+     */
+    private static class ClassFinderHolder {
+        private static final ClassFinder CLASS_FINDER = create();
+
+        private static ClassFinder create() {
+            ClassPath classPath = ClassPath.jdk();
+            try {
+                return JdkTypeIndex.open(indexFile(), classPath);
+            }
+            catch (UncheckedIOException | IllegalArgumentException | SecurityException e) {
+                // the index is not writable or a class file is not supported: only the lookups are affected
+                return ClassFinder.of(classPath);
+            }
+        }
+
+        private static Path indexFile() {
+            String indexFile = System.getProperty("thc.jdk.index");
+            if (indexFile != null) {
+                return Paths.get(indexFile);
+            }
 
-            return Optional.of(
-                    clazz.isInterface() ?
-                            new JavaInterface(triggerNode, clazz) :
-                            new JavaClass(triggerNode, clazz)
-            );
-        } catch (ClassNotFoundException e) {
-            return Optional.empty();
+            return Paths.get(System.getProperty("user.home"), ".cache", "thc")
+                    .resolve(String.format("jdk-%s.index", System.getProperty("java.version")));
         }
     }
 }
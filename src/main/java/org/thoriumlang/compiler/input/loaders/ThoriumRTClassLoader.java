@@ -42,4 +42,9 @@ public class ThoriumRTClassLoader implements TypeLoader {
 
         return Optional.empty();
     }
+
+    @Override
+    public boolean dependsOnSources() {
+        return false;
+    }
 }
@@ -1,7 +1,6 @@
 package org.thoriumlang.compiler.input.loaders;
 
 import org.thoriumlang.compiler.api.Compiler;
-import org.thoriumlang.compiler.ast.AST;
 import org.thoriumlang.compiler.ast.nodes.Node;
 import org.thoriumlang.compiler.input.Source;
 import org.thoriumlang.compiler.input.Sources;
@@ -28,8 +27,7 @@ public class ThoriumSrcClassLoader implements TypeLoader {
             return Optional.empty();
         }
 
-        AST ast = compiler.compile(sources, loadedSource.get());
-
-        return ast.root().map(root -> new ThoriumType(triggerNode, root.getTopLevelNode()));
+        return compiler.declaration(sources, loadedSource.get())
+                .map(root -> new ThoriumType(triggerNode, root.getTopLevelNode()));
     }
 }
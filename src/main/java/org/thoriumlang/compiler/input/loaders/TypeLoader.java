@@ -29,4 +29,12 @@ public interface TypeLoader {
      * @return Optionally, the {@link Symbol} containing the loaded class or type.
      */
     Optional<Symbol> load(Name name, Node triggerNode);
+
+    /**
+     * @return whether the names this loader resolves depend on the sources being compiled. The results of the loaders
+     * that do not depend on them stay valid when the sources change.
+     */
+    default boolean dependsOnSources() {
+        return true;
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.input.loaders;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.thoriumlang.compiler.input.Sources;
+import org.thoriumlang.compiler.symbols.Name;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers, for each fully qualified name, which {@link TypeLoader} of a {@link CachingTypeLoader} resolves it, or
+ * that none does. Symbols are not cached, as they refer to the node that triggered their loading. The cache is bounded,
+ * thread-safe, and meant to be shared by all the sources of a compilation.
+ */
+public class TypeLoaderCache {
+    private static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final Cache<String, Resolution> resolutions;
+    private final LongAdder hits;
+    private final LongAdder negativeHits;
+    private final LongAdder misses;
+
+    public TypeLoaderCache(int maximumSize) {
+        this.resolutions = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.hits = new LongAdder();
+        this.negativeHits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    public TypeLoaderCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    Resolution get(String name) {
+        Resolution resolution = resolutions.getIfPresent(name);
+        if (resolution == null) {
+            misses.increment();
+        }
+        else {
+            hits.increment();
+            if (!resolution.isFound()) {
+                negativeHits.increment();
+            }
+        }
+        return resolution;
+    }
+
+    void put(String name, Resolution resolution) {
+        resolutions.put(name, resolution);
+    }
+
+    /**
+     * Forgets the resolutions that may have changed along with the sources: the names that were not found, the names
+     * resolved by a {@link TypeLoader} depending on the sources, and the names the sources now define.
+     *
+     * @param sources the sources after the change.
+     */
+    public void invalidate(Sources sources) {
+        resolutions.asMap().entrySet().removeIf(e ->
+                e.getValue().dependsOnSources() || sources.load(Name.of(e.getKey())).isPresent()
+        );
+    }
+
+    public void invalidateAll() {
+        resolutions.invalidateAll();
+    }
+
+    public Statistics statistics() {
+        return new Statistics(hits.sum(), negativeHits.sum(), misses.sum(), resolutions.size());
+    }
+
+    /**
+     * The outcome of the resolution of a name: the index of the {@link TypeLoader} resolving it, or <code>-1</code>.
+     */
+    static class Resolution {
+        static final Resolution NOT_FOUND = new Resolution(-1, true);
+
+        private final int loaderIndex;
+        private final boolean dependsOnSources;
+
+        Resolution(int loaderIndex, boolean dependsOnSources) {
+            this.loaderIndex = loaderIndex;
+            this.dependsOnSources = dependsOnSources;
+        }
+
+        int loaderIndex() {
+            return loaderIndex;
+        }
+
+        boolean isFound() {
+            return loaderIndex >= 0;
+        }
+
+        boolean dependsOnSources() {
+            return dependsOnSources;
+        }
+    }
+
+    public static class Statistics {
+        private final long hits;
+        private final long negativeHits;
+        private final long misses;
+        private final long size;
+
+        public Statistics(long hits, long negativeHits, long misses, long size) {
+            this.hits = hits;
+            this.negativeHits = negativeHits;
+            this.misses = misses;
+            this.size = size;
+        }
+
+        /**
+         * @return the count of lookups answered by the cache, including the names known not to exist.
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * @return the count of lookups answered by the cache with a name known not to exist.
+         */
+        public long getNegativeHits() {
+            return negativeHits;
+        }
+
+        /**
+         * @return the count of lookups that had to go through the loaders.
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits: %d (%d negative), misses: %d, size: %d", hits, negativeHits, misses, size);
+        }
+    }
+}
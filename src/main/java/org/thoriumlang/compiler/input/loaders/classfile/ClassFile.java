@@ -0,0 +1,277 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.input.loaders.classfile;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The header of a Java class file: its name, super types, kind and method signatures. It is read from the bytecode,
+ * without loading the class.
+ */
+public class ClassFile {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_INTERFACE = 0x0200;
+
+    private final String name;
+    private final String superName;
+    private final List<String> interfaces;
+    private final int accessFlags;
+    private final List<Method> methods;
+
+    public ClassFile(String name, String superName, List<String> interfaces, int accessFlags,
+                     List<Method> methods) {
+        this.name = Objects.requireNonNull(name, "name cannot be null");
+        this.superName = superName;
+        this.interfaces = Objects.requireNonNull(interfaces, "interfaces cannot be null");
+        this.accessFlags = accessFlags;
+        this.methods = Objects.requireNonNull(methods, "methods cannot be null");
+    }
+
+    /**
+     * Reads the header of a class file.
+     *
+     * @param bytes the content of the class file.
+     * @return the header.
+     * @throws IllegalArgumentException if the bytes are not a valid class file.
+     */
+    public static ClassFile parse(byte[] bytes) {
+        try {
+            return parse(new DataInputStream(new ByteArrayInputStream(bytes)));
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("invalid class file", e);
+        }
+    }
+
+    private static ClassFile parse(DataInputStream input) throws IOException {
+        if (input.readInt() != MAGIC) {
+            throw new IllegalArgumentException("not a class file");
+        }
+        input.readUnsignedShort(); // minor version
+        input.readUnsignedShort(); // major version
+
+        ConstantPool constantPool = ConstantPool.read(input);
+
+        int accessFlags = input.readUnsignedShort();
+        String name = constantPool.className(input.readUnsignedShort());
+        int superIndex = input.readUnsignedShort();
+        String superName = superIndex == 0 ? null : constantPool.className(superIndex);
+
+        int interfacesCount = input.readUnsignedShort();
+        List<String> interfaces = new ArrayList<>(interfacesCount);
+        for (int i = 0; i < interfacesCount; i++) {
+            interfaces.add(constantPool.className(input.readUnsignedShort()));
+        }
+
+        int fieldsCount = input.readUnsignedShort();
+        for (int i = 0; i < fieldsCount; i++) {
+            input.readUnsignedShort(); // access flags
+            input.readUnsignedShort(); // name
+            input.readUnsignedShort(); // descriptor
+            skipAttributes(input);
+        }
+
+        int methodsCount = input.readUnsignedShort();
+        List<Method> methods = new ArrayList<>(methodsCount);
+        for (int i = 0; i < methodsCount; i++) {
+            int methodAccessFlags = input.readUnsignedShort();
+            String methodName = constantPool.utf8(input.readUnsignedShort());
+            String descriptor = constantPool.utf8(input.readUnsignedShort());
+            skipAttributes(input);
+            methods.add(new Method(methodName, descriptor, methodAccessFlags));
+        }
+
+        return new ClassFile(
+                name,
+                superName,
+                Collections.unmodifiableList(interfaces),
+                accessFlags,
+                Collections.unmodifiableList(methods)
+        );
+    }
+
+    private static void skipAttributes(DataInputStream input) throws IOException {
+        int attributesCount = input.readUnsignedShort();
+        for (int i = 0; i < attributesCount; i++) {
+            input.readUnsignedShort(); // name
+            skip(input, input.readInt());
+        }
+    }
+
+    private static void skip(DataInputStream input, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            int skipped = input.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new IOException("unexpected end of class file");
+            }
+            remaining -= skipped;
+        }
+    }
+
+    /**
+     * Builds the header of an already loaded class.
+     *
+     * @param clazz the class.
+     * @return the header.
+     */
+    public static ClassFile of(Class<?> clazz) {
+        Objects.requireNonNull(clazz, "clazz cannot be null");
+        return new ClassFile(
+                clazz.getName(),
+                clazz.getSuperclass() == null ? null : clazz.getSuperclass().getName(),
+                Collections.unmodifiableList(
+                        Arrays.stream(clazz.getInterfaces())
+                                .map(Class::getName)
+                                .collect(Collectors.toList())
+                ),
+                clazz.getModifiers() & (ACC_PUBLIC | ACC_INTERFACE),
+                Collections.unmodifiableList(
+                        Arrays.stream(clazz.getDeclaredMethods())
+                                .map(m -> new Method(m.getName(), Descriptors.of(m), m.getModifiers()))
+                                .collect(Collectors.toList())
+                )
+        );
+    }
+
+    /**
+     * @return the binary name of the class, such as <code>java.util.Map$Entry</code>.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the canonical name of the class, such as <code>java.util.Map.Entry</code>.
+     */
+    public String getCanonicalName() {
+        return name.replace('$', '.');
+    }
+
+    /**
+     * @return the binary name of the super class; empty for <code>java.lang.Object</code>.
+     */
+    public Optional<String> getSuperName() {
+        return Optional.ofNullable(superName);
+    }
+
+    /**
+     * @return the binary names of the directly implemented interfaces.
+     */
+    public List<String> getInterfaces() {
+        return interfaces;
+    }
+
+    /**
+     * @return the access flags of the class, as defined by the JVM specification.
+     */
+    public int getAccessFlags() {
+        return accessFlags;
+    }
+
+    public boolean isInterface() {
+        return (accessFlags & ACC_INTERFACE) != 0;
+    }
+
+    public boolean isPublic() {
+        return (accessFlags & ACC_PUBLIC) != 0;
+    }
+
+    /**
+     * @return the methods declared by the class, including the constructors (named <code>&lt;init&gt;</code>).
+     */
+    public List<Method> getMethods() {
+        return methods;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s", isInterface() ? "interface" : "class", getCanonicalName());
+    }
+
+    public static class Method {
+        private final String name;
+        private final String descriptor;
+        private final int accessFlags;
+
+        public Method(String name, String descriptor, int accessFlags) {
+            this.name = Objects.requireNonNull(name, "name cannot be null");
+            this.descriptor = Objects.requireNonNull(descriptor, "descriptor cannot be null");
+            this.accessFlags = accessFlags;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the JVM descriptor of the method, such as <code>(ILjava/lang/String;)V</code>.
+         */
+        public String getDescriptor() {
+            return descriptor;
+        }
+
+        /**
+         * @return the access flags of the method, as defined by the JVM specification.
+         */
+        public int getAccessFlags() {
+            return accessFlags;
+        }
+
+        public boolean isPublic() {
+            return Modifier.isPublic(accessFlags);
+        }
+
+        public boolean isStatic() {
+            return Modifier.isStatic(accessFlags);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Method method = (Method) o;
+            return accessFlags == method.accessFlags &&
+                    name.equals(method.name) &&
+                    descriptor.equals(method.descriptor);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, descriptor, accessFlags);
+        }
+
+        @Override
+        public String toString() {
+            return name + descriptor;
+        }
+    }
+}
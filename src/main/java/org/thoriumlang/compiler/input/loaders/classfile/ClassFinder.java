@@ -0,0 +1,39 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.input.loaders.classfile;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Finds the header of classes by their name. Implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface ClassFinder {
+    /**
+     * @param className the binary name of the class, such as <code>java.lang.String</code>.
+     * @return the header of the class, or empty if the class is unknown.
+     */
+    Optional<ClassFile> find(String className);
+
+    /**
+     * @return a {@link ClassFinder} parsing the class files of the {@link ClassPath} each time a class is looked up.
+     */
+    static ClassFinder of(ClassPath classPath) {
+        Objects.requireNonNull(classPath, "classPath cannot be null");
+        return className -> classPath.read(className).map(ClassFile::parse);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.input.loaders.classfile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A location class files are read from. Implementations must be thread-safe.
+ */
+public interface ClassPath {
+    /**
+     * Reads the bytes of a class file.
+     *
+     * @param className the binary name of the class, such as <code>java.lang.String</code>.
+     * @return the content of the class file, or empty if the class path does not contain it.
+     */
+    Optional<byte[]> read(String className);
+
+    /**
+     * @return the binary names of all the classes of the class path, excluding the <code>module-info</code> and
+     * <code>package-info</code> ones.
+     */
+    List<String> classNames();
+
+    /**
+     * @return the class path of the running JDK: the <code>jrt:/</code> file system on Java 9 and later, its
+     * <code>rt.jar</code> on Java 8.
+     */
+    static ClassPath jdk() {
+        Optional<ClassPath> jrt = JrtClassPath.open();
+        if (jrt.isPresent()) {
+            return jrt.get();
+        }
+
+        Path rtJar = Paths.get(System.getProperty("java.home"), "lib", "rt.jar");
+        if (Files.isRegularFile(rtJar)) {
+            return new JarClassPath(rtJar);
+        }
+
+        throw new IllegalStateException("neither jrt:/ nor " + rtJar + " is available");
+    }
+
+    static String entryName(String className) {
+        return className.replace('.', '/') + ".class";
+    }
+
+    /**
+     * @return the binary name of the class stored in the given entry, or empty if the entry is not a class file.
+     */
+    static Optional<String> className(String entryName) {
+        if (!entryName.endsWith(".class") || entryName.endsWith("module-info.class") ||
+                entryName.endsWith("package-info.class")) {
+            return Optional.empty();
+        }
+        return Optional.of(entryName.substring(0, entryName.length() - ".class".length()).replace('/', '.'));
+    }
+}
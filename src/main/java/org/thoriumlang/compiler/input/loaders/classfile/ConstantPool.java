@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.input.loaders.classfile;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * The constant pool of a class file, keeping only what the header needs: the UTF-8 entries and the class entries.
+ */
+class ConstantPool {
+    private static final int UTF8 = 1;
+    private static final int INTEGER = 3;
+    private static final int FLOAT = 4;
+    private static final int LONG = 5;
+    private static final int DOUBLE = 6;
+    private static final int CLASS = 7;
+    private static final int STRING = 8;
+    private static final int FIELD_REF = 9;
+    private static final int METHOD_REF = 10;
+    private static final int INTERFACE_METHOD_REF = 11;
+    private static final int NAME_AND_TYPE = 12;
+    private static final int METHOD_HANDLE = 15;
+    private static final int METHOD_TYPE = 16;
+    private static final int DYNAMIC = 17;
+    private static final int INVOKE_DYNAMIC = 18;
+    private static final int MODULE = 19;
+    private static final int PACKAGE = 20;
+
+    private final String[] utf8s;
+    private final int[] classNameIndices;
+
+    private ConstantPool(int size) {
+        this.utf8s = new String[size];
+        this.classNameIndices = new int[size];
+    }
+
+    static ConstantPool read(DataInputStream input) throws IOException {
+        int size = input.readUnsignedShort();
+        ConstantPool constantPool = new ConstantPool(size);
+
+        for (int i = 1; i < size; i++) {
+            int tag = input.readUnsignedByte();
+            switch (tag) {
+                case UTF8:
+                    constantPool.utf8s[i] = input.readUTF();
+                    break;
+                case CLASS:
+                    constantPool.classNameIndices[i] = input.readUnsignedShort();
+                    break;
+                case STRING:
+                case METHOD_TYPE:
+                case MODULE:
+                case PACKAGE:
+                    input.skipBytes(2);
+                    break;
+                case METHOD_HANDLE:
+                    input.skipBytes(3);
+                    break;
+                case INTEGER:
+                case FLOAT:
+                case FIELD_REF:
+                case METHOD_REF:
+                case INTERFACE_METHOD_REF:
+                case NAME_AND_TYPE:
+                case DYNAMIC:
+                case INVOKE_DYNAMIC:
+                    input.skipBytes(4);
+                    break;
+                case LONG:
+                case DOUBLE:
+                    input.skipBytes(8);
+                    i++; // takes two entries
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format("invalid constant pool tag %d at %d", tag, i));
+            }
+        }
+
+        return constantPool;
+    }
+
+    String utf8(int index) {
+        String value = index > 0 && index < utf8s.length ? utf8s[index] : null;
+        if (value == null) {
+            throw new IllegalArgumentException(String.format("no UTF-8 constant at %d", index));
+        }
+        return value;
+    }
+
+    /**
+     * @return the binary name of the class at the given index, such as <code>java.util.Map$Entry</code>.
+     */
+    String className(int index) {
+        if (index <= 0 || index >= classNameIndices.length || classNameIndices[index] == 0) {
+            throw new IllegalArgumentException(String.format("no class constant at %d", index));
+        }
+        return utf8(classNameIndices[index]).replace('/', '.');
+    }
+}
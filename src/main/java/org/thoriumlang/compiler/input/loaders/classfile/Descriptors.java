@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.input.loaders.classfile;
+
+import java.lang.reflect.Method;
+
+/**
+ * Builds JVM descriptors of loaded classes and methods.
+ */
+class Descriptors {
+    private Descriptors() {
+        // nothing
+    }
+
+    static String of(Method method) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            append(descriptor, parameterType);
+        }
+        descriptor.append(')');
+        append(descriptor, method.getReturnType());
+        return descriptor.toString();
+    }
+
+    private static void append(StringBuilder descriptor, Class<?> type) {
+        Class<?> componentType = type;
+        while (componentType.isArray()) {
+            descriptor.append('[');
+            componentType = componentType.getComponentType();
+        }
+        if (componentType.isPrimitive()) {
+            descriptor.append(primitive(componentType));
+        }
+        else {
+            descriptor.append('L').append(componentType.getName().replace('.', '/')).append(';');
+        }
+    }
+
+    private static char primitive(Class<?> type) {
+        if (type == void.class) {
+            return 'V';
+        }
+        if (type == boolean.class) {
+            return 'Z';
+        }
+        if (type == byte.class) {
+            return 'B';
+        }
+        if (type == char.class) {
+            return 'C';
+        }
+        if (type == short.class) {
+            return 'S';
+        }
+        if (type == int.class) {
+            return 'I';
+        }
+        if (type == long.class) {
+            return 'J';
+        }
+        if (type == float.class) {
+            return 'F';
+        }
+        return 'D';
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.input.loaders.classfile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads class files from a jar. The jar is opened once and kept open for the lifetime of the instance.
+ */
+public class JarClassPath implements ClassPath {
+    private final ZipFile jar;
+
+    public JarClassPath(Path path) {
+        Objects.requireNonNull(path, "path cannot be null");
+        try {
+            this.jar = new ZipFile(path.toFile());
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> read(String className) {
+        ZipEntry entry = jar.getEntry(ClassPath.entryName(className));
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        try (InputStream input = jar.getInputStream(entry)) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream(
+                    entry.getSize() > 0 ? (int) entry.getSize() : 4096
+            );
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            return Optional.of(output.toByteArray());
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<String> classNames() {
+        return Collections.unmodifiableList(
+                jar.stream()
+                        .map(ZipEntry::getName)
+                        .map(ClassPath::className)
+                        .filter(Optional::isPresent)
+                        .map(Optional::get)
+                        .collect(Collectors.toList())
+        );
+    }
+}
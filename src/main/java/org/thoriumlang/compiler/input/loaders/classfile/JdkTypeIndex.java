@@ -0,0 +1,351 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.input.loaders.classfile;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Memory-mapped index of the public types of a {@link ClassPath}, with their public methods. The index is written
+ * once, then each lookup is a probe in an open-addressing hash table stored in the file, followed by the decoding of
+ * the matching record only.
+ * <p>
+ * The file is made of a header (magic number, version, the size of the hash table, the number of types and the key
+ * identifying the JDK it was built from), the hash table (the hash of the name and the offset of the record, for
+ * each slot) and the records. Strings are stored as their UTF-8 length on two bytes, followed by their UTF-8 bytes.
+ * </p>
+ */
+public final class JdkTypeIndex implements ClassFinder {
+    private static final int MAGIC = 0x54484A49; // THJI
+    private static final int VERSION = 1;
+    private static final int SLOT_SIZE = 8;
+    private static final int EMPTY = 0;
+
+    private final ByteBuffer buffer;
+    private final int mask;
+    private final int size;
+    private final int tableStart;
+
+    private JdkTypeIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.mask = buffer.getInt(8) - 1;
+        this.size = buffer.getInt(12);
+        this.tableStart = 16 + 2 + (buffer.getShort(16) & 0xFFFF);
+    }
+
+    /**
+     * Maps the index stored in the given file, writing it first if it does not exist or was built from another JDK.
+     *
+     * @param file      the file of the index.
+     * @param classPath the class path to index, when the index has to be written.
+     * @return the index.
+     * @throws UncheckedIOException     if the index cannot be read nor written.
+     * @throws IllegalArgumentException if the index has to be written and a class file cannot be parsed.
+     */
+    public static JdkTypeIndex open(Path file, ClassPath classPath) {
+        Objects.requireNonNull(file, "file cannot be null");
+        Objects.requireNonNull(classPath, "classPath cannot be null");
+
+        Optional<JdkTypeIndex> index = map(file);
+        if (index.isPresent()) {
+            return index.get();
+        }
+
+        write(file, classPath);
+
+        return map(file)
+                .orElseThrow(() -> new UncheckedIOException(new IOException("cannot read " + file)));
+    }
+
+    private static Optional<JdkTypeIndex> map(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return isValid(buffer) ? Optional.of(new JdkTypeIndex(buffer)) : Optional.empty();
+        }
+        catch (IOException e) {
+            // a corrupted index is the same as a missing one
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isValid(ByteBuffer buffer) {
+        if (buffer.limit() < 18 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            return false;
+        }
+        byte[] key = key();
+        int keyLength = buffer.getShort(16) & 0xFFFF;
+        if (keyLength != key.length) {
+            return false;
+        }
+        for (int i = 0; i < keyLength; i++) {
+            if (buffer.get(18 + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Identifies the running JDK, so that an index built from another one is not used.
+     */
+    private static byte[] key() {
+        return (System.getProperty("java.home") + "|" + System.getProperty("java.version"))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the index of the public types of a {@link ClassPath}. The file is replaced atomically. The class files are
+     * only read once the file is known to be writable.
+     *
+     * @param file      the file of the index.
+     * @param classPath the class path to index.
+     * @throws UncheckedIOException     if the index cannot be written.
+     * @throws IllegalArgumentException if a class file of the class path cannot be parsed.
+     */
+    public static void write(Path file, ClassPath classPath) {
+        Path tempFile = createTempFile(file);
+
+        try {
+            List<ClassFile> classFiles = classPath.classNames().parallelStream()
+                    .map(classPath::read)
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .map(ClassFile::parse)
+                    .filter(ClassFile::isPublic)
+                    .collect(Collectors.toList());
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                write(out, classFiles);
+            }
+
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        finally {
+            deleteIfExists(tempFile);
+        }
+    }
+
+    private static Path createTempFile(Path file) {
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            return Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteIfExists(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException e) {
+            // nothing else to do, it is only a leftover temporary file
+        }
+    }
+
+    private static void write(DataOutputStream out, List<ClassFile> classFiles) throws IOException {
+        int tableSize = Integer.highestOneBit(Math.max(classFiles.size(), 1) * 2 - 1) << 1;
+        byte[] key = key();
+        int recordsStart = 16 + 2 + key.length + tableSize * SLOT_SIZE;
+
+        int[] hashes = new int[tableSize];
+        int[] offsets = new int[tableSize];
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream recordsOut = new DataOutputStream(records);
+
+        for (ClassFile classFile : classFiles) {
+            int hash = hash(classFile.getName());
+            int slot = hash & (tableSize - 1);
+            while (offsets[slot] != EMPTY) {
+                slot = (slot + 1) & (tableSize - 1);
+            }
+            hashes[slot] = hash;
+            offsets[slot] = recordsStart + recordsOut.size();
+            writeRecord(recordsOut, classFile);
+        }
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(tableSize);
+        out.writeInt(classFiles.size());
+        out.writeShort(key.length);
+        out.write(key);
+        for (int i = 0; i < tableSize; i++) {
+            out.writeInt(hashes[i]);
+            out.writeInt(offsets[i]);
+        }
+        records.writeTo(out);
+    }
+
+    private static void writeRecord(DataOutputStream out, ClassFile classFile) throws IOException {
+        writeString(out, classFile.getName());
+        out.writeInt(classFile.getAccessFlags());
+        writeString(out, classFile.getSuperName().orElse(""));
+        out.writeShort(classFile.getInterfaces().size());
+        for (String interfaceName : classFile.getInterfaces()) {
+            writeString(out, interfaceName);
+        }
+        List<ClassFile.Method> methods = classFile.getMethods().stream()
+                .filter(ClassFile.Method::isPublic)
+                .collect(Collectors.toList());
+        out.writeShort(methods.size());
+        for (ClassFile.Method method : methods) {
+            writeString(out, method.getName());
+            writeString(out, method.getDescriptor());
+            out.writeInt(method.getAccessFlags());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static int hash(String className) {
+        int hash = className.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @return the number of types in the index.
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Optional<ClassFile> find(String className) {
+        int hash = hash(className);
+        byte[] name = null;
+
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int position = tableStart + slot * SLOT_SIZE;
+            int offset = buffer.getInt(position + 4);
+
+            if (offset == EMPTY) {
+                return Optional.empty();
+            }
+
+            if (buffer.getInt(position) == hash) {
+                if (name == null) {
+                    name = className.getBytes(StandardCharsets.UTF_8);
+                }
+                if (matches(offset, name)) {
+                    return Optional.of(new Reader(buffer, offset).readRecord());
+                }
+            }
+        }
+    }
+
+    private boolean matches(int offset, byte[] name) {
+        if ((buffer.getShort(offset) & 0xFFFF) != name.length) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (buffer.get(offset + 2 + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes a record with absolute reads only, so that lookups can run concurrently on the shared buffer.
+     */
+    private static class Reader {
+        private final ByteBuffer buffer;
+        private int position;
+
+        private Reader(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        private ClassFile readRecord() {
+            String name = readString();
+            int accessFlags = readInt();
+            String superName = readString();
+
+            int interfacesCount = readShort();
+            List<String> interfaces = new ArrayList<>(interfacesCount);
+            for (int i = 0; i < interfacesCount; i++) {
+                interfaces.add(readString());
+            }
+
+            int methodsCount = readShort();
+            List<ClassFile.Method> methods = new ArrayList<>(methodsCount);
+            for (int i = 0; i < methodsCount; i++) {
+                methods.add(new ClassFile.Method(readString(), readString(), readInt()));
+            }
+
+            return new ClassFile(
+                    name,
+                    superName.isEmpty() ? null : superName,
+                    Collections.unmodifiableList(interfaces),
+                    accessFlags,
+                    Collections.unmodifiableList(methods)
+            );
+        }
+
+        private int readShort() {
+            int value = buffer.getShort(position) & 0xFFFF;
+            position += 2;
+            return value;
+        }
+
+        private int readInt() {
+            int value = buffer.getInt(position);
+            position += 4;
+            return value;
+        }
+
+        private String readString() {
+            int length = readShort();
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(position + i);
+            }
+            position += length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
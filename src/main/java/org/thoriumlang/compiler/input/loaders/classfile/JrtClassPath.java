@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.input.loaders.classfile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.ProviderNotFoundException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads class files from the <code>jrt:/</code> file system of the running JDK (Java 9 and later). The module of
+ * each package is looked up once, in <code>/packages</code>, and remembered.
+ */
+public class JrtClassPath implements ClassPath {
+    private static final String NO_MODULE = "";
+
+    private final FileSystem fileSystem;
+    private final Map<String, String> modules;
+
+    private JrtClassPath(FileSystem fileSystem) {
+        this.fileSystem = Objects.requireNonNull(fileSystem, "fileSystem cannot be null");
+        this.modules = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return the <code>jrt:/</code> class path, or empty if the running JDK does not provide one.
+     */
+    public static Optional<ClassPath> open() {
+        try {
+            return Optional.of(new JrtClassPath(FileSystems.getFileSystem(URI.create("jrt:/"))));
+        }
+        catch (FileSystemNotFoundException | ProviderNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<byte[]> read(String className) {
+        int lastDot = className.lastIndexOf('.');
+        if (lastDot == -1) {
+            return Optional.empty();
+        }
+
+        String module = modules.computeIfAbsent(className.substring(0, lastDot), this::module);
+        if (module.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Path path = fileSystem.getPath("/modules", module, ClassPath.entryName(className));
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Files.readAllBytes(path));
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String module(String packageName) {
+        Path packagePath = fileSystem.getPath("/packages", packageName);
+        if (!Files.isDirectory(packagePath)) {
+            return NO_MODULE;
+        }
+
+        try (DirectoryStream<Path> modulePaths = Files.newDirectoryStream(packagePath)) {
+            for (Path modulePath : modulePaths) {
+                return modulePath.getFileName().toString();
+            }
+            return NO_MODULE;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<String> classNames() {
+        Path modulesPath = fileSystem.getPath("/modules");
+        try (Stream<Path> paths = Files.walk(modulesPath)) {
+            return Collections.unmodifiableList(
+                    paths
+                            .map(modulesPath::relativize)
+                            .filter(p -> p.getNameCount() > 1)
+                            .map(p -> p.subpath(1, p.getNameCount()).toString())
+                            .map(ClassPath::className)
+                            .filter(Optional::isPresent)
+                            .map(Optional::get)
+                            .collect(Collectors.toList())
+            );
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
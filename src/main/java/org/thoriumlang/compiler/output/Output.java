@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.output;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Writes text to an {@link Appendable}, indenting the lines of the blocks started with {@link #indent()}. The
+ * {@link IOException}s of the appendable are rethrown as {@link UncheckedIOException}s.
+ */
+public class Output {
+    private static final String DEFAULT_INDENTATION = "  ";
+    private static final String NEW_LINE = System.lineSeparator();
+
+    private final Appendable appendable;
+    private final String indentation;
+    private int level;
+
+    public Output(Appendable appendable, String indentation) {
+        this.appendable = Objects.requireNonNull(appendable, "appendable cannot be null");
+        this.indentation = Objects.requireNonNull(indentation, "indentation cannot be null");
+    }
+
+    public Output(Appendable appendable) {
+        this(appendable, DEFAULT_INDENTATION);
+    }
+
+    /**
+     * Appends the text. Each line feed it contains is followed by the indentation of the current block.
+     */
+    public Output append(CharSequence text) {
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                write(text, start, i + 1);
+                writeIndentation();
+                start = i + 1;
+            }
+        }
+        write(text, start, text.length());
+        return this;
+    }
+
+    public Output append(char c) {
+        write(String.valueOf(c), 0, 1);
+        if (c == '\n') {
+            writeIndentation();
+        }
+        return this;
+    }
+
+    /**
+     * Appends the platform's line separator.
+     */
+    public Output newLine() {
+        return append(NEW_LINE);
+    }
+
+    /**
+     * Appends the items separated by the given separator. Each item is written by the given consumer.
+     */
+    public <T> Output join(List<T> items, CharSequence separator, Consumer<T> item) {
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                append(separator);
+            }
+            item.accept(items.get(i));
+        }
+        return this;
+    }
+
+    /**
+     * Starts an indented block. It is expected to be called at the beginning of a line: the indentation of the new
+     * level is written right away.
+     */
+    public Output indent() {
+        level++;
+        write(indentation, 0, indentation.length());
+        return this;
+    }
+
+    public Output dedent() {
+        if (level == 0) {
+            throw new IllegalStateException("no block to dedent");
+        }
+        level--;
+        return this;
+    }
+
+    private void writeIndentation() {
+        for (int i = 0; i < level; i++) {
+            write(indentation, 0, indentation.length());
+        }
+    }
+
+    private void write(CharSequence text, int start, int end) {
+        if (start == end) {
+            return;
+        }
+        try {
+            appendable.append(text, start, end);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
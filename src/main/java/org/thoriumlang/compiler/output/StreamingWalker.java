@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.output;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+
+/**
+ * {@link Walker} writing its output incrementally, as the nodes are walked, instead of building it in memory.
+ */
+public interface StreamingWalker extends Walker<String> {
+    /**
+     * Writes the output to the given {@link Appendable}.
+     *
+     * @param output the appendable to write to; it is neither flushed nor closed.
+     * @throws UncheckedIOException if the appendable fails.
+     */
+    void walk(Appendable output);
+
+    @Override
+    default String walk() {
+        StringBuilder output = new StringBuilder();
+        walk(output);
+        return output.toString();
+    }
+
+    /**
+     * Writes the output to the given channel, through a buffer.
+     *
+     * @param channel the channel to write to; it is not closed.
+     * @param charset the charset of the output.
+     * @throws UncheckedIOException if the channel fails.
+     */
+    default void walk(WritableByteChannel channel, Charset charset) {
+        // closing the writer would close the channel: it is only flushed
+        Writer writer = new BufferedWriter(Channels.newWriter(channel, charset.newEncoder(), -1));
+        walk(writer);
+        try {
+            writer.flush();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
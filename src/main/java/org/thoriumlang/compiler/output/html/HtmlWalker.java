@@ -18,6 +18,8 @@ package org.thoriumlang.compiler.output.html;
 import com.google.common.collect.ImmutableMap;
 import org.jtwig.JtwigModel;
 import org.jtwig.JtwigTemplate;
+import org.jtwig.environment.EnvironmentConfiguration;
+import org.jtwig.environment.EnvironmentConfigurationBuilder;
 import org.thoriumlang.compiler.api.errors.SemanticError;
 import org.thoriumlang.compiler.ast.context.ReferencedNode;
 import org.thoriumlang.compiler.ast.context.SourcePosition;
@@ -52,12 +54,26 @@ import org.thoriumlang.compiler.ast.nodes.TypeSpecUnion;
 import org.thoriumlang.compiler.ast.nodes.Use;
 import org.thoriumlang.compiler.ast.visitor.BaseVisitor;
 import org.thoriumlang.compiler.ast.visitor.Visitor;
-import org.thoriumlang.compiler.output.Walker;
+import org.thoriumlang.compiler.output.StreamingWalker;
 import org.thoriumlang.compiler.symbols.SymbolTable;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -66,48 +82,55 @@ import java.util.stream.Collectors;
 import static org.jtwig.JtwigTemplate.classpathTemplate;
 
 @SuppressWarnings("squid:S1192")
-public class HtmlWalker implements Visitor<String>, Walker<String> {
+public class HtmlWalker implements Visitor<String>, StreamingWalker {
     private static final String TEMPLATE_PATH = HtmlWalker.class.getPackage().getName()
             .replace(".", File.separator) + File.separator;
 
+    private static final Charset OUTPUT_CHARSET = StandardCharsets.UTF_8;
+    private static final EnvironmentConfiguration CONFIGURATION = EnvironmentConfigurationBuilder.configuration()
+            .render().withOutputCharset(OUTPUT_CHARSET).and()
+            .build();
+
     private static final Map<java.lang.Class<?>, JtwigTemplate> templates = ImmutableMap.<java.lang.Class<?>, JtwigTemplate>builder()
-            .put(Root.class, classpathTemplate(TEMPLATE_PATH + "root.twig"))
-            .put(Use.class, classpathTemplate(TEMPLATE_PATH + "use.twig"))
-            .put(Class.class, classpathTemplate(TEMPLATE_PATH + "class.twig"))
-            .put(Type.class, classpathTemplate(TEMPLATE_PATH + "type.twig"))
-            .put(TypeParameter.class, classpathTemplate(TEMPLATE_PATH + "typeParameter.twig"))
-            .put(TypeSpecSimple.class, classpathTemplate(TEMPLATE_PATH + "typeSpecSimple.twig"))
-            .put(TypeSpecIntersection.class, classpathTemplate(TEMPLATE_PATH + "typeSpecComposition.twig"))
-            .put(TypeSpecUnion.class, classpathTemplate(TEMPLATE_PATH + "typeSpecComposition.twig"))
-            .put(TypeSpecFunction.class, classpathTemplate(TEMPLATE_PATH + "typeSpecFunction.twig"))
-            .put(TypeSpecInferred.class, classpathTemplate(TEMPLATE_PATH + "typeSpecInferred.twig"))
-            .put(Attribute.class, classpathTemplate(TEMPLATE_PATH + "attribute.twig"))
-            .put(NoneValue.class, classpathTemplate(TEMPLATE_PATH + "noneValue.twig"))
-            .put(StringValue.class, classpathTemplate(TEMPLATE_PATH + "stringValue.twig"))
-            .put(NumberValue.class, classpathTemplate(TEMPLATE_PATH + "numberValue.twig"))
-            .put(BooleanValue.class, classpathTemplate(TEMPLATE_PATH + "booleanValue.twig"))
-            .put(MethodCallValue.class, classpathTemplate(TEMPLATE_PATH + "methodCallValue.twig"))
-            .put(FunctionValue.class, classpathTemplate(TEMPLATE_PATH + "functionValue.twig"))
-            .put(IdentifierValue.class, classpathTemplate(TEMPLATE_PATH + "identifierValue.twig"))
-            .put(NestedValue.class, classpathTemplate(TEMPLATE_PATH + "nestedValue.twig"))
-            .put(NewAssignmentValue.class, classpathTemplate(TEMPLATE_PATH + "newAssignment.twig"))
-            .put(IndirectAssignmentValue.class, classpathTemplate(TEMPLATE_PATH + "indirectAssignmentValue.twig"))
-            .put(DirectAssignmentValue.class, classpathTemplate(TEMPLATE_PATH + "directAssignmentValue.twig"))
-            .put(Method.class, classpathTemplate(TEMPLATE_PATH + "method.twig"))
-            .put(MethodSignature.class, classpathTemplate(TEMPLATE_PATH + "methodSignature.twig"))
-            .put(Parameter.class, classpathTemplate(TEMPLATE_PATH + "parameter.twig"))
-            .put(Statement.class, classpathTemplate(TEMPLATE_PATH + "statement.twig"))
-            .put(SemanticError.class, classpathTemplate(TEMPLATE_PATH + "compilationError.twig"))
-            .put(SymbolTable.class, classpathTemplate(TEMPLATE_PATH + "symbolTable.twig"))
+            .put(Root.class, template("root.twig"))
+            .put(Use.class, template("use.twig"))
+            .put(Class.class, template("class.twig"))
+            .put(Type.class, template("type.twig"))
+            .put(TypeParameter.class, template("typeParameter.twig"))
+            .put(TypeSpecSimple.class, template("typeSpecSimple.twig"))
+            .put(TypeSpecIntersection.class, template("typeSpecComposition.twig"))
+            .put(TypeSpecUnion.class, template("typeSpecComposition.twig"))
+            .put(TypeSpecFunction.class, template("typeSpecFunction.twig"))
+            .put(TypeSpecInferred.class, template("typeSpecInferred.twig"))
+            .put(Attribute.class, template("attribute.twig"))
+            .put(NoneValue.class, template("noneValue.twig"))
+            .put(StringValue.class, template("stringValue.twig"))
+            .put(NumberValue.class, template("numberValue.twig"))
+            .put(BooleanValue.class, template("booleanValue.twig"))
+            .put(MethodCallValue.class, template("methodCallValue.twig"))
+            .put(FunctionValue.class, template("functionValue.twig"))
+            .put(IdentifierValue.class, template("identifierValue.twig"))
+            .put(NestedValue.class, template("nestedValue.twig"))
+            .put(NewAssignmentValue.class, template("newAssignment.twig"))
+            .put(IndirectAssignmentValue.class, template("indirectAssignmentValue.twig"))
+            .put(DirectAssignmentValue.class, template("directAssignmentValue.twig"))
+            .put(Method.class, template("method.twig"))
+            .put(MethodSignature.class, template("methodSignature.twig"))
+            .put(Parameter.class, template("parameter.twig"))
+            .put(Statement.class, template("statement.twig"))
+            .put(SemanticError.class, template("compilationError.twig"))
+            .put(SymbolTable.class, template("symbolTable.twig"))
             .build();
     private final Root root;
     private final Map<Node, List<SemanticError>> compilationErrors;
-    private final List<String> symbolTables;
+    private final Map<SymbolTable, List<Node>> symbolTables;
+    private final List<SymbolTable> symbolTablesOrder;
 
     public HtmlWalker(Root root, Map<Node, List<SemanticError>> compilationErrors) {
         this.root = root;
         this.compilationErrors = compilationErrors;
-        this.symbolTables = new LinkedList<>();
+        this.symbolTables = new IdentityHashMap<>();
+        this.symbolTablesOrder = new ArrayList<>();
     }
 
     @Override
@@ -115,44 +138,90 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
         return root.accept(this);
     }
 
+    private static JtwigTemplate template(String name) {
+        return classpathTemplate(TEMPLATE_PATH + name, CONFIGURATION);
+    }
+
+    /**
+     * Renders the document directly to the given stream, in UTF-8, instead of building it in memory first.
+     *
+     * @param outputStream the stream to write the document to; it is neither flushed nor closed.
+     */
+    public void walk(OutputStream outputStream) {
+        templates.get(Root.class).render(rootModel(root), outputStream);
+    }
+
+    @Override
+    public void walk(Appendable output) {
+        try (OutputStream outputStream = new AppendableOutputStream(output, OUTPUT_CHARSET)) {
+            walk(outputStream);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the document to the given channel. When the charset is UTF-8, the rendered bytes are written as is.
+     */
+    @Override
+    public void walk(WritableByteChannel channel, Charset charset) {
+        if (!charset.equals(OUTPUT_CHARSET)) {
+            StreamingWalker.super.walk(channel, charset);
+            return;
+        }
+
+        // closing the stream would close the channel: it is only flushed
+        OutputStream outputStream = new BufferedOutputStream(Channels.newOutputStream(channel));
+        walk(outputStream);
+        try {
+            outputStream.flush();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public String visit(Root node) {
-        renderSymbolTable(node);
-        return templates.get(node.getClass()).render(
-                newModel(node)
-                        .with("date", LocalDateTime.now())
-                        .with("css", classpathTemplate(TEMPLATE_PATH + "style.css").render(new JtwigModel()))
-                        .with("js", classpathTemplate(TEMPLATE_PATH + "script.js").render(new JtwigModel()))
-                        .with("namespace", node.getNamespace())
-                        .with("toplevelName", node.getTopLevelNode().accept(new BaseVisitor<String>() {
-                            @Override
-                            public String visit(Type node) {
-                                return node.getName();
-                            }
-
-                            @Override
-                            public String visit(Class node) {
-                                return node.getName();
-                            }
-                        }))
-                        .with("uses", node.getUses().stream()
-                                .map(n -> n.accept(this))
-                                .collect(Collectors.toList()))
-                        .with("toplevel", node.getTopLevelNode().accept(this))
-                        .with("errors", compilationErrors.values().stream()
-                                .map(
-                                        es -> es.stream()
-                                                .map(e -> templates.get(e.getClass()).render(
-                                                        newModel(e.getNode())
-                                                                .with("error", e.toString())
-                                                ))
-                                                .collect(Collectors.toList())
-                                )
-                                .flatMap(List::stream)
-                                .collect(Collectors.toList())
+        return templates.get(node.getClass()).render(rootModel(node));
+    }
+
+    private JtwigModel rootModel(Root node) {
+        collectSymbolTable(node);
+        return newModel(node)
+                .with("date", LocalDateTime.now())
+                .with("css", Assets.CSS)
+                .with("js", Assets.JS)
+                .with("namespace", node.getNamespace())
+                .with("toplevelName", node.getTopLevelNode().accept(new BaseVisitor<String>() {
+                    @Override
+                    public String visit(Type node) {
+                        return node.getName();
+                    }
+
+                    @Override
+                    public String visit(Class node) {
+                        return node.getName();
+                    }
+                }))
+                .with("uses", node.getUses().stream()
+                        .map(n -> n.accept(this))
+                        .collect(Collectors.toList()))
+                .with("toplevel", node.getTopLevelNode().accept(this))
+                .with("errors", compilationErrors.values().stream()
+                        .map(
+                                es -> es.stream()
+                                        .map(e -> templates.get(e.getClass()).render(
+                                                newModel(e.getNode())
+                                                        .with("error", e.toString())
+                                        ))
+                                        .collect(Collectors.toList())
                         )
-                        .with("symbolTables", symbolTables)
-        );
+                        .flatMap(List::stream)
+                        .collect(Collectors.toList())
+                )
+                .with("symbolTables", renderSymbolTables());
     }
 
     private JtwigModel newModel(Node node) {
@@ -172,7 +241,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(Use node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("from", node.getFrom())
@@ -182,7 +251,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(Class node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("visibility", node.getVisibility().toString().toLowerCase())
@@ -202,7 +271,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(Type node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("visibility", node.getVisibility().toString().toLowerCase())
@@ -219,7 +288,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(TypeParameter node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("name", node.getName())
@@ -228,7 +297,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(TypeSpecSimple node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("typeName", node.getType())
@@ -244,7 +313,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
     }
 
     private String visitTypeSpecComposition(Node node, List<TypeSpec> typeSpecs, String mode) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("mode", mode)
@@ -261,7 +330,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(TypeSpecFunction node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("returnType", node.getReturnType().accept(this))
@@ -273,7 +342,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(TypeSpecInferred node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
         );
@@ -281,7 +350,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(Attribute node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("name", node.getName())
@@ -293,7 +362,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(StringValue node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("value", node.getValue())
@@ -302,7 +371,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(NumberValue node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("value", node.getValue())
@@ -311,7 +380,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(BooleanValue node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("value", node.getValue())
@@ -320,34 +389,51 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(NoneValue node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
         );
     }
 
-    private void renderSymbolTable(Node node) {
+    private void collectSymbolTable(Node node) {
         SymbolTable symbolTable = node.getContext().require(SymbolTable.class);
-        symbolTables.add(templates.get(SymbolTable.class).render(
-                newModel(node)
-                        .with("nodeId", formatNodeId(node))
-                        .with("sourceNodeId", "")
-                        .with("name", symbolTable)
-                        .with("hash", Integer.toHexString(symbolTable.hashCode()))
+        symbolTables.computeIfAbsent(symbolTable, t -> {
+            symbolTablesOrder.add(t);
+            return new ArrayList<>();
+        }).add(node);
+    }
+
+    /**
+     * Renders each distinct symbol table once, along with the ids of all the nodes sharing it.
+     */
+    private List<String> renderSymbolTables() {
+        return symbolTablesOrder.stream()
+                .map(symbolTable -> {
+                    List<Node> nodes = symbolTables.get(symbolTable);
+                    return templates.get(SymbolTable.class).render(
+                            newModel(nodes.get(0))
+                                    .with("nodeIds", nodes.stream()
+                                            .map(this::formatNodeId)
+                                            .collect(Collectors.joining(" ")))
+                                    .with("sourceNodeId", "")
+                                    .with("name", symbolTable)
+                                    .with("hash", Integer.toHexString(symbolTable.hashCode()))
 // FIXME rewrite
-//                        .with("symbols", symbolTable.symbolsStream()
-//                                .map(s -> ImmutableMap.of(
-//                                        "name", s.getName(),
-//                                        "kind", s.getClass().getSimpleName(),
-//                                        "refNodeId", formatNodeId(s.getNode())
-//                                ))
-//                                .collect(Collectors.toList()))
-        ));
+//                                    .with("symbols", symbolTable.symbolsStream()
+//                                            .map(s -> ImmutableMap.of(
+//                                                    "name", s.getName(),
+//                                                    "kind", s.getClass().getSimpleName(),
+//                                                    "refNodeId", formatNodeId(s.getNode())
+//                                            ))
+//                                            .collect(Collectors.toList()))
+                    );
+                })
+                .collect(Collectors.toList());
     }
 
     @Override
     public String visit(IdentifierValue node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("name", node.getReference().accept(this))
@@ -373,7 +459,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(NewAssignmentValue node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("name", node.getName())
@@ -385,7 +471,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(IndirectAssignmentValue node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("indirectValue", node.getIndirectValue().accept(this))
@@ -396,7 +482,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(DirectAssignmentValue node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("identifier", node.getReference().accept(this))
@@ -407,7 +493,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(MethodCallValue node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("methodName", node.getMethodReference().getName())
@@ -422,7 +508,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(NestedValue node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("outer", node.getOuter().accept(this))
@@ -432,7 +518,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(FunctionValue node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("returnType", node.getReturnType().accept(this))
@@ -450,7 +536,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(Method node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("signature", node.getSignature().accept(this))
@@ -462,7 +548,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(MethodSignature node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(MethodSignature.class).render(
                 newModel(node)
                         .with("visibility", node.getVisibility().toString().toLowerCase())
@@ -479,7 +565,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(Parameter node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(node.getClass()).render(
                 newModel(node)
                         .with("name", node.getName())
@@ -489,7 +575,7 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
 
     @Override
     public String visit(Statement node) {
-        renderSymbolTable(node);
+        collectSymbolTable(node);
         return templates.get(Statement.class).render(
                 newModel(node)
                         .with("isLast", node.isLast())
@@ -501,4 +587,76 @@ public class HtmlWalker implements Visitor<String>, Walker<String> {
     public String visit(Reference node) {
         return node.getName();
     }
+
+    /**
+     * Decodes the bytes rendered by Jtwig into the chars of an {@link Appendable}.
+     */
+    private static class AppendableOutputStream extends OutputStream {
+        private static final int BUFFER_SIZE = 8192;
+
+        private final Appendable appendable;
+        private final CharsetDecoder decoder;
+        private final ByteBuffer bytes;
+        private final CharBuffer chars;
+
+        private AppendableOutputStream(Appendable appendable, Charset charset) {
+            this.appendable = appendable;
+            this.decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.bytes = ByteBuffer.allocate(BUFFER_SIZE);
+            this.chars = CharBuffer.allocate(BUFFER_SIZE);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int offset = off;
+            int remaining = len;
+            while (remaining > 0) {
+                int length = Math.min(remaining, bytes.remaining());
+                bytes.put(b, offset, length);
+                offset += length;
+                remaining -= length;
+                decode(false);
+            }
+        }
+
+        private void decode(boolean endOfInput) throws IOException {
+            bytes.flip();
+            CoderResult result;
+            do {
+                result = decoder.decode(bytes, chars, endOfInput);
+                drain();
+            } while (result.isOverflow());
+            bytes.compact();
+        }
+
+        private void drain() throws IOException {
+            chars.flip();
+            appendable.append(chars);
+            chars.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            decode(true);
+            while (decoder.flush(chars).isOverflow()) {
+                drain();
+            }
+            drain();
+        }
+    }
+
+    /**
+     * The static assets of the documents, rendered once.
+     */
+    private static class Assets {
+        private static final String CSS = template("style.css").render(new JtwigModel());
+        private static final String JS = template("script.js").render(new JtwigModel());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.output.metrics;
+
+import org.thoriumlang.compiler.api.CompilationContext;
+import org.thoriumlang.compiler.api.PhaseEvent;
+import org.thoriumlang.compiler.api.Plugin;
+import org.thoriumlang.compiler.api.errors.CompilationError;
+import org.thoriumlang.compiler.ast.metrics.Phase;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Aggregates the {@link Phase}s measured during a compilation. When the compilation finishes, it writes a summary
+ * report, {@value #SUMMARY_FILENAME}, and a trace in the Chrome trace event format, {@value #TRACE_FILENAME}, that can
+ * be loaded in chrome://tracing or Perfetto.
+ */
+public class PhaseMetricsPlugin implements Plugin {
+    public static final String SUMMARY_FILENAME = "phases.txt";
+    public static final String TRACE_FILENAME = "phases.trace.json";
+    private static final String SUMMARY_FORMAT = "%-36s %8s %12s %12s %14s %10s %10s%n";
+
+    private final Path directory;
+    private final List<PhaseEvent> events;
+
+    public PhaseMetricsPlugin(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "directory cannot be null");
+        this.events = new ArrayList<>();
+    }
+
+    @Override
+    public List<CompilationError> execute(CompilationContext context) {
+        synchronized (events) {
+            events.addAll(context.phases());
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean measuresPhases() {
+        return true;
+    }
+
+    @Override
+    public void onCompilationFinished() {
+        List<PhaseEvent> compilationEvents;
+        synchronized (events) {
+            compilationEvents = new ArrayList<>(events);
+            events.clear();
+        }
+
+        try {
+            Files.createDirectories(directory);
+            try (Writer writer = Files.newBufferedWriter(directory.resolve(SUMMARY_FILENAME), StandardCharsets.UTF_8)) {
+                writeSummary(compilationEvents, writer);
+            }
+            try (Writer writer = Files.newBufferedWriter(directory.resolve(TRACE_FILENAME), StandardCharsets.UTF_8)) {
+                writeTrace(compilationEvents, writer);
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeSummary(List<PhaseEvent> events, Writer writer) throws IOException {
+        Map<String, Total> totals = new LinkedHashMap<>();
+        events.forEach(e -> totals.computeIfAbsent(e.getPhase().getName(), Total::new).add(e.getPhase()));
+
+        writer.write(String.format(SUMMARY_FORMAT,
+                "phase", "count", "wall (ms)", "cpu (ms)", "alloc (KiB)", "nodes", "tokens"
+        ));
+
+        List<Total> sortedTotals = new ArrayList<>(totals.values());
+        sortedTotals.sort(Comparator.comparingLong((Total t) -> t.wallNanos).reversed());
+
+        for (Total total : sortedTotals) {
+            writer.write(String.format(SUMMARY_FORMAT,
+                    total.name,
+                    total.count,
+                    millis(total.wallNanos),
+                    total.cpuNanos < 0 ? "-" : millis(total.cpuNanos),
+                    total.allocatedBytes < 0 ? "-" : String.valueOf(total.allocatedBytes / 1024),
+                    total.nodes,
+                    total.tokens
+            ));
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private void writeTrace(List<PhaseEvent> events, Writer writer) throws IOException {
+        long origin = events.stream()
+                .mapToLong(e -> e.getPhase().getStartNanos())
+                .min()
+                .orElse(0);
+
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        for (int i = 0; i < events.size(); i++) {
+            Phase phase = events.get(i).getPhase();
+            writer.write(i == 0 ? "\n" : ",\n");
+            writer.write(String.format(
+                    Locale.ROOT,
+                    "{\"name\":%s,\"cat\":\"phase\",\"ph\":\"X\",\"pid\":1,\"tid\":%d,\"ts\":%.3f,\"dur\":%.3f," +
+                            "\"args\":{\"source\":%s,\"cpuNanos\":%d,\"allocatedBytes\":%d,\"nodes\":%d,\"tokens\":%d}}",
+                    jsonString(phase.getName()),
+                    phase.getThreadId(),
+                    (phase.getStartNanos() - origin) / 1000.0,
+                    phase.getWallNanos() / 1000.0,
+                    jsonString(events.get(i).getSource().toString()),
+                    phase.getCpuNanos(),
+                    phase.getAllocatedBytes(),
+                    phase.getNodes(),
+                    phase.getTokens()
+            ));
+        }
+        writer.write("\n]}\n");
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            }
+            else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            }
+            else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static class Total {
+        private final String name;
+        private int count;
+        private long wallNanos;
+        private long cpuNanos;
+        private long allocatedBytes;
+        private long nodes;
+        private long tokens;
+
+        private Total(String name) {
+            this.name = name;
+        }
+
+        private void add(Phase phase) {
+            count++;
+            wallNanos += phase.getWallNanos();
+            cpuNanos = sum(cpuNanos, phase.getCpuNanos());
+            allocatedBytes = sum(allocatedBytes, phase.getAllocatedBytes());
+            nodes += phase.getNodes();
+            tokens += phase.getTokens();
+        }
+
+        private static long sum(long total, long value) {
+            return total < 0 || value < 0 ? -1 : total + value;
+        }
+    }
+}
@@ -18,24 +18,27 @@ package org.thoriumlang.compiler.output.th;
 import org.thoriumlang.compiler.ast.nodes.Attribute;
 import org.thoriumlang.compiler.ast.nodes.TypeSpec;
 import org.thoriumlang.compiler.ast.visitor.BaseVisitor;
+import org.thoriumlang.compiler.output.Output;
 
-class AttributeVisitor extends BaseVisitor<String> {
+class AttributeVisitor extends BaseVisitor<Void> {
+    private final Output output;
     private final TypeSpecVisitor typeSpecVisitor;
     private final ValueVisitor valueVisitor;
 
-    AttributeVisitor(TypeSpecVisitor typeSpecVisitor, ValueVisitor valueVisitor) {
+    AttributeVisitor(Output output, TypeSpecVisitor typeSpecVisitor, ValueVisitor valueVisitor) {
+        this.output = output;
         this.typeSpecVisitor = typeSpecVisitor;
         this.valueVisitor = valueVisitor;
     }
 
     @Override
-    public String visit(Attribute node) {
-        return String.format("%s %s%s = %s",
-                node.getMode().toString().toLowerCase(),
-                node.getName(),
-                type(node.getType()),
-                node.getValue().accept(valueVisitor)
-        );
+    public Void visit(Attribute node) {
+        output.append(node.getMode().toString().toLowerCase())
+                .append(' ')
+                .append(node.getName())
+                .append(type(node.getType()))
+                .append(" = ");
+        return node.getValue().accept(valueVisitor);
     }
 
     private String type(TypeSpec typeSpec) {
@@ -18,36 +18,37 @@ package org.thoriumlang.compiler.output.th;
 import org.thoriumlang.compiler.ast.nodes.MethodSignature;
 import org.thoriumlang.compiler.ast.nodes.TypeSpec;
 import org.thoriumlang.compiler.ast.visitor.BaseVisitor;
+import org.thoriumlang.compiler.output.Output;
 
-import java.util.stream.Collectors;
-
-class MethodSignatureVisitor extends BaseVisitor<String> {
+class MethodSignatureVisitor extends BaseVisitor<Void> {
+    private final Output output;
     private final TypeSpecVisitor typeSpecVisitor;
     private final TypeParameterVisitor typeParameterVisitor;
     private final ParameterVisitor parameterVisitor;
 
-    MethodSignatureVisitor(TypeSpecVisitor typeSpecVisitor, TypeParameterVisitor typeParameterVisitor,
+    MethodSignatureVisitor(Output output, TypeSpecVisitor typeSpecVisitor, TypeParameterVisitor typeParameterVisitor,
             ParameterVisitor parameterVisitor) {
+        this.output = output;
         this.typeSpecVisitor = typeSpecVisitor;
         this.typeParameterVisitor = typeParameterVisitor;
         this.parameterVisitor = parameterVisitor;
     }
 
     @Override
-    public String visit(MethodSignature node) {
-        return String.format("%s %s%s(%s)%s",
-                node.getVisibility().name().toLowerCase(),
-                node.getName(),
-                node.getTypeParameters().isEmpty() ?
-                        "" :
-                        node.getTypeParameters().stream()
-                                .map(p -> p.accept(typeParameterVisitor))
-                                .collect(Collectors.joining(", ", "[", "]")),
-                node.getParameters().stream()
-                        .map(p -> p.accept(parameterVisitor))
-                        .collect(Collectors.joining(", ")),
-                returnType(node.getReturnType())
-        );
+    public Void visit(MethodSignature node) {
+        output.append(node.getVisibility().name().toLowerCase())
+                .append(' ')
+                .append(node.getName());
+        if (!node.getTypeParameters().isEmpty()) {
+            output.append('[')
+                    .join(node.getTypeParameters(), ", ", p -> output.append(p.accept(typeParameterVisitor)))
+                    .append(']');
+        }
+        output.append('(')
+                .join(node.getParameters(), ", ", p -> output.append(p.accept(parameterVisitor)))
+                .append(')')
+                .append(returnType(node.getReturnType()));
+        return null;
     }
 
     private String returnType(TypeSpec returnType) {
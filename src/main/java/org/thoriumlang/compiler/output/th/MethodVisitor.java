@@ -17,28 +17,25 @@ package org.thoriumlang.compiler.output.th;
 
 import org.thoriumlang.compiler.ast.nodes.Method;
 import org.thoriumlang.compiler.ast.visitor.BaseVisitor;
-import org.thoriumlang.compiler.helpers.Indent;
+import org.thoriumlang.compiler.output.Output;
 
-import java.util.stream.Collectors;
-
-class MethodVisitor extends BaseVisitor<String> {
+class MethodVisitor extends BaseVisitor<Void> {
+    private final Output output;
     private final MethodSignatureVisitor methodSignatureVisitor;
     private final ValueVisitor valueVisitor;
 
-    MethodVisitor(MethodSignatureVisitor methodSignatureVisitor, ValueVisitor valueVisitor) {
+    MethodVisitor(Output output, MethodSignatureVisitor methodSignatureVisitor, ValueVisitor valueVisitor) {
+        this.output = output;
         this.methodSignatureVisitor = methodSignatureVisitor;
         this.valueVisitor = valueVisitor;
     }
 
     @Override
-    public String visit(Method node) {
-        return String.format("%s {%n%s%n}",
-                node.getSignature().accept(methodSignatureVisitor),
-                node.getStatements().stream()
-                        .map(s -> s.accept(valueVisitor))
-                        .map(Indent.INSTANCE)
-                        .map(s -> s + ";")
-                        .collect(Collectors.joining("\n"))
-        );
+    public Void visit(Method node) {
+        node.getSignature().accept(methodSignatureVisitor);
+        output.append(" {").newLine();
+        valueVisitor.statements(node.getStatements());
+        output.newLine().append('}');
+        return null;
     }
 }
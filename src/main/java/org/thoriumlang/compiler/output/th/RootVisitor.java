@@ -16,34 +16,31 @@
 package org.thoriumlang.compiler.output.th;
 
 import org.thoriumlang.compiler.ast.nodes.Root;
-import org.thoriumlang.compiler.ast.nodes.Use;
 import org.thoriumlang.compiler.ast.visitor.BaseVisitor;
+import org.thoriumlang.compiler.output.Output;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
-class RootVisitor extends BaseVisitor<String> {
+class RootVisitor extends BaseVisitor<Void> {
+    private final Output output;
     private final UseVisitor useVisitor;
     private final TopLevelVisitor topLevelVisitor;
 
-    RootVisitor(UseVisitor useVisitor, TopLevelVisitor topLevelVisitor) {
+    RootVisitor(Output output, UseVisitor useVisitor, TopLevelVisitor topLevelVisitor) {
+        this.output = output;
         this.useVisitor = useVisitor;
         this.topLevelVisitor = topLevelVisitor;
     }
 
     @Override
-    public String visit(Root node) {
-        String use = use(node.getUses());
-        return String.format("// namespace %s%n%n%s%s",
-                node.getNamespace(),
-                use.isEmpty() ? "" : String.format("%s%n%n", use),
-                node.getTopLevelNode().accept(topLevelVisitor)
-        );
-    }
-
-    private String use(List<Use> uses) {
-        return uses.stream()
-                .map(u -> u.accept(useVisitor))
-                .collect(Collectors.joining("\n"));
+    public Void visit(Root node) {
+        output.append("// namespace ")
+                .append(node.getNamespace())
+                .newLine()
+                .newLine();
+        if (!node.getUses().isEmpty()) {
+            output.join(node.getUses(), "\n", u -> output.append(u.accept(useVisitor)))
+                    .newLine()
+                    .newLine();
+        }
+        return node.getTopLevelNode().accept(topLevelVisitor);
     }
-}
\ No newline at end of file
+}
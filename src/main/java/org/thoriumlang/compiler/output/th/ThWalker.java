@@ -16,47 +16,53 @@
 package org.thoriumlang.compiler.output.th;
 
 import org.thoriumlang.compiler.ast.nodes.Root;
-import org.thoriumlang.compiler.output.Walker;
+import org.thoriumlang.compiler.output.Output;
+import org.thoriumlang.compiler.output.StreamingWalker;
 
-public class ThWalker implements Walker<String> {
+public class ThWalker implements StreamingWalker {
     private final Root root;
-    private final RootVisitor visitor;
 
     public ThWalker(Root root) {
         this.root = root;
+    }
+
+    @Override
+    public void walk(Appendable appendable) {
+        Output output = new Output(appendable);
 
         TypeSpecVisitor typeSpecVisitor = new TypeSpecVisitor();
         TypeParameterVisitor typeParameterVisitor = new TypeParameterVisitor();
         ParameterVisitor parameterVisitor = new ParameterVisitor(typeSpecVisitor);
         MethodSignatureVisitor methodSignatureVisitor = new MethodSignatureVisitor(
+                output,
                 typeSpecVisitor,
                 typeParameterVisitor,
                 parameterVisitor
         );
         ValueVisitor valueVisitor = new ValueVisitor(
+                output,
                 typeSpecVisitor,
                 typeParameterVisitor,
                 parameterVisitor
         );
-        this.visitor = new RootVisitor(
+        root.accept(new RootVisitor(
+                output,
                 new UseVisitor(),
                 new TopLevelVisitor(
+                        output,
                         typeSpecVisitor,
                         new AttributeVisitor(
+                                output,
                                 typeSpecVisitor,
                                 valueVisitor
                         ),
                         new MethodVisitor(
+                                output,
                                 methodSignatureVisitor,
                                 valueVisitor
                         ),
                         methodSignatureVisitor
                 )
-        );
-    }
-
-    @Override
-    public String walk() {
-        return root.accept(visitor);
+        ));
     }
 }
@@ -18,21 +18,24 @@ package org.thoriumlang.compiler.output.th;
 import org.thoriumlang.compiler.ast.nodes.Class;
 import org.thoriumlang.compiler.ast.nodes.Type;
 import org.thoriumlang.compiler.ast.nodes.TypeParameter;
+import org.thoriumlang.compiler.ast.nodes.TypeSpec;
+import org.thoriumlang.compiler.ast.nodes.Visibility;
 import org.thoriumlang.compiler.ast.visitor.BaseVisitor;
-import org.thoriumlang.compiler.helpers.Indent;
+import org.thoriumlang.compiler.output.Output;
 
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.List;
 
-class TopLevelVisitor extends BaseVisitor<String> {
+class TopLevelVisitor extends BaseVisitor<Void> {
+    private final Output output;
     private final TypeSpecVisitor typeSpecVisitor;
     private final AttributeVisitor attributeVisitor;
     private final MethodVisitor methodVisitor;
     private final MethodSignatureVisitor methodSignatureVisitor;
 
 
-    TopLevelVisitor(TypeSpecVisitor typeSpecVisitor, AttributeVisitor attributeVisitor, MethodVisitor methodVisitor,
-            MethodSignatureVisitor methodSignatureVisitor) {
+    TopLevelVisitor(Output output, TypeSpecVisitor typeSpecVisitor, AttributeVisitor attributeVisitor,
+            MethodVisitor methodVisitor, MethodSignatureVisitor methodSignatureVisitor) {
+        this.output = output;
         this.typeSpecVisitor = typeSpecVisitor;
         this.attributeVisitor = attributeVisitor;
         this.methodVisitor = methodVisitor;
@@ -40,55 +43,58 @@ class TopLevelVisitor extends BaseVisitor<String> {
     }
 
     @Override
-    public String visit(Class node) {
-        return String.format(
-                "%s class %s%s : %s {%s}",
-                node.getVisibility().name().toLowerCase(),
-                node.getName(),
-                node.getTypeParameters().isEmpty() ?
-                        "" :
-                        node.getTypeParameters().stream()
-                                .map(TypeParameter::toString)
-                                .collect(Collectors.joining(", ", "[", "]")),
-                node.getSuperType().accept(typeSpecVisitor),
-                Stream
-                        .of(
-                                node.getAttributes().stream()
-                                        .map(a -> a.accept(attributeVisitor))
-                                        .map(Indent.INSTANCE)
-                                        .map(s -> s + ";")
-                                        .collect(Collectors.joining("\n")),
-                                node.getMethods().stream()
-                                        .map(m -> m.accept(methodVisitor))
-                                        .map(Indent.INSTANCE)
-                                        .collect(Collectors.joining("\n\n"))
-                        )
-                        .filter(s -> !s.isEmpty())
-                        .collect(Collectors.joining("\n\n", "\n", "\n"))
-        );
+    public Void visit(Class node) {
+        header(node.getVisibility(), "class", node.getName(), node.getTypeParameters(), node.getSuperType());
+        output.append('\n')
+                .join(node.getAttributes(), "\n", a -> {
+                    output.indent();
+                    a.accept(attributeVisitor);
+                    output.dedent().append(';');
+                });
+        if (!node.getAttributes().isEmpty() && !node.getMethods().isEmpty()) {
+            output.append("\n\n");
+        }
+        output.join(node.getMethods(), "\n\n", m -> {
+            output.indent();
+            m.accept(methodVisitor);
+            output.dedent();
+        });
+        output.append("\n}");
+        return null;
+    }
+
+    private void header(Visibility visibility, String kind, String name, List<TypeParameter> typeParameters,
+            TypeSpec superType) {
+        output.append(visibility.name().toLowerCase())
+                .append(' ')
+                .append(kind)
+                .append(' ')
+                .append(name);
+        if (!typeParameters.isEmpty()) {
+            output.append('[')
+                    .join(typeParameters, ", ", p -> output.append(p.toString()))
+                    .append(']');
+        }
+        output.append(" : ")
+                .append(superType.accept(typeSpecVisitor))
+                .append(" {");
     }
 
     @Override
-    public String visit(Type node) {
-        return String.format(
-                "%s type %s%s : %s {%s}",
-                node.getVisibility().name().toLowerCase(),
-                node.getName(),
-                node.getTypeParameters().isEmpty() ?
-                        "" :
-                        node.getTypeParameters().stream()
-                                .map(TypeParameter::toString)
-                                .collect(Collectors.joining(", ", "[", "]")),
-                node.getSuperType().accept(typeSpecVisitor),
-                node.getMethods().isEmpty() ?
-                        "\n" :
-                        String.format("%n%s%n",
-                                node.getMethods().stream()
-                                        .map(m -> m.accept(methodSignatureVisitor))
-                                        .map(s -> s + ";")
-                                        .map(Indent.INSTANCE)
-                                        .collect(Collectors.joining("\n"))
-                        )
-        );
+    public Void visit(Type node) {
+        header(node.getVisibility(), "type", node.getName(), node.getTypeParameters(), node.getSuperType());
+        if (node.getMethods().isEmpty()) {
+            output.append("\n}");
+            return null;
+        }
+        output.newLine()
+                .join(node.getMethods(), "\n", m -> {
+                    output.indent();
+                    m.accept(methodSignatureVisitor);
+                    output.append(';').dedent();
+                })
+                .newLine()
+                .append('}');
+        return null;
     }
 }
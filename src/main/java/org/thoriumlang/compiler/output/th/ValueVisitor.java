@@ -30,62 +30,80 @@ import org.thoriumlang.compiler.ast.nodes.StringValue;
 import org.thoriumlang.compiler.ast.nodes.Reference;
 import org.thoriumlang.compiler.ast.nodes.TypeSpec;
 import org.thoriumlang.compiler.ast.visitor.BaseVisitor;
-import org.thoriumlang.compiler.helpers.Indent;
+import org.thoriumlang.compiler.output.Output;
 
-import java.util.stream.Collectors;
+import java.util.List;
 
-class ValueVisitor extends BaseVisitor<String> {
+class ValueVisitor extends BaseVisitor<Void> {
+    private final Output output;
     private final TypeSpecVisitor typeSpecVisitor;
     private final TypeParameterVisitor typeParameterVisitor;
     private final ParameterVisitor parameterVisitor;
 
-    ValueVisitor(TypeSpecVisitor typeSpecVisitor, TypeParameterVisitor typeParameterVisitor,
+    ValueVisitor(Output output, TypeSpecVisitor typeSpecVisitor, TypeParameterVisitor typeParameterVisitor,
             ParameterVisitor parameterVisitor) {
+        this.output = output;
         this.typeSpecVisitor = typeSpecVisitor;
         this.typeParameterVisitor = typeParameterVisitor;
         this.parameterVisitor = parameterVisitor;
     }
 
+    /**
+     * Writes the statements of a block, each one on its own indented line.
+     */
+    void statements(List<Statement> statements) {
+        output.join(statements, "\n", s -> {
+            output.indent();
+            s.accept(this);
+            output.dedent().append(';');
+        });
+    }
+
     @Override
-    public String visit(Statement node) {
-        return node.isLast() ?
-                "return " + node.getValue().accept(this) :
-                node.getValue().accept(this);
+    public Void visit(Statement node) {
+        if (node.isLast()) {
+            output.append("return ");
+        }
+        return node.getValue().accept(this);
     }
 
     @Override
-    public String visit(StringValue node) {
-        return "\"" + node.getValue() + "\"";
+    public Void visit(StringValue node) {
+        output.append('"').append(node.getValue()).append('"');
+        return null;
     }
 
     @Override
-    public String visit(NumberValue node) {
-        return node.getValue();
+    public Void visit(NumberValue node) {
+        output.append(node.getValue());
+        return null;
     }
 
     @Override
-    public String visit(BooleanValue node) {
-        return String.valueOf(node.getValue());
+    public Void visit(BooleanValue node) {
+        output.append(String.valueOf(node.getValue()));
+        return null;
     }
 
     @Override
-    public String visit(NoneValue node) {
-        return "none";
+    public Void visit(NoneValue node) {
+        output.append("none");
+        return null;
     }
 
     @Override
-    public String visit(IdentifierValue node) {
+    public Void visit(IdentifierValue node) {
         return node.getReference().accept(this);
     }
 
     @Override
-    public String visit(NewAssignmentValue node) {
-        return String.format("%s %s%s = %s",
-                node.getMode().toString().toLowerCase(),
-                node.getName(),
-                type(node.getType()),
-                node.getValue().accept(this)
-        );
+    public Void visit(NewAssignmentValue node) {
+        output.append(node.getMode().toString().toLowerCase())
+                .append(' ')
+                .append(node.getName())
+                .append(type(node.getType()))
+                .append(" = ");
+        return node.getValue().accept(this);
     }
 
     private String type(TypeSpec typeSpec) {
@@ -96,66 +114,63 @@ class ValueVisitor extends BaseVisitor<String> {
     }
 
     @Override
-    public String visit(IndirectAssignmentValue node) {
-        return String.format("%s.%s = %s",
-                node.getIndirectValue().accept(this),
-                node.getReference().accept(this),
-                node.getValue().accept(this)
-        );
+    public Void visit(IndirectAssignmentValue node) {
+        node.getIndirectValue().accept(this);
+        output.append('.');
+        node.getReference().accept(this);
+        output.append(" = ");
+        return node.getValue().accept(this);
     }
 
     @Override
-    public String visit(DirectAssignmentValue node) {
-        return String.format("%s = %s",
-                node.getReference().accept(this),
-                node.getValue().accept(this)
-        );
+    public Void visit(DirectAssignmentValue node) {
+        node.getReference().accept(this);
+        output.append(" = ");
+        return node.getValue().accept(this);
     }
 
     @Override
-    public String visit(MethodCallValue node) {
-        return String.format("%s%s(%s)",
-                node.getMethodReference().accept(this),
-                node.getTypeArguments().isEmpty() ?
-                        "" :
-                        node.getTypeArguments().stream()
-                                .map(a -> a.accept(typeSpecVisitor))
-                                .collect(Collectors.joining(", ", "[", "]")),
-                node.getMethodArguments().isEmpty() ?
-                        "" :
-                        node.getMethodArguments().stream()
-                                .map(a -> a.accept(this))
-                                .collect(Collectors.joining(", "))
-        );
+    public Void visit(MethodCallValue node) {
+        node.getMethodReference().accept(this);
+        if (!node.getTypeArguments().isEmpty()) {
+            output.append('[')
+                    .join(node.getTypeArguments(), ", ", a -> output.append(a.accept(typeSpecVisitor)))
+                    .append(']');
+        }
+        output.append('(')
+                .join(node.getMethodArguments(), ", ", a -> a.accept(this))
+                .append(')');
+        return null;
     }
 
     @Override
-    public String visit(NestedValue node) {
-        return node.getOuter().accept(this) + "." + node.getInner().accept(this);
+    public Void visit(NestedValue node) {
+        node.getOuter().accept(this);
+        output.append('.');
+        return node.getInner().accept(this);
     }
 
     @Override
-    public String visit(FunctionValue node) {
-        return String.format("%s(%s)%s => {%n%s%n}",
-                node.getTypeParameters().isEmpty() ?
-                        "" :
-                        node.getTypeParameters().stream()
-                                .map(t -> t.accept(typeParameterVisitor))
-                                .collect(Collectors.joining(", ", "[", "]")),
-                node.getParameters().stream()
-                        .map(p -> p.accept(parameterVisitor))
-                        .collect(Collectors.joining(", ")),
-                type(node.getReturnType()),
-                node.getStatements().stream()
-                        .map(s -> s.accept(this))
-                        .map(Indent.INSTANCE)
-                        .map(s -> s + ";")
-                        .collect(Collectors.joining("\n"))
-        );
+    public Void visit(FunctionValue node) {
+        if (!node.getTypeParameters().isEmpty()) {
+            output.append('[')
+                    .join(node.getTypeParameters(), ", ", t -> output.append(t.accept(typeParameterVisitor)))
+                    .append(']');
+        }
+        output.append('(')
+                .join(node.getParameters(), ", ", p -> output.append(p.accept(parameterVisitor)))
+                .append(')')
+                .append(type(node.getReturnType()))
+                .append(" => {")
+                .newLine();
+        statements(node.getStatements());
+        output.newLine().append('}');
+        return null;
     }
 
     @Override
-    public String visit(Reference node) {
-        return node.getName();
+    public Void visit(Reference node) {
+        output.append(node.getName());
+        return null;
     }
 }
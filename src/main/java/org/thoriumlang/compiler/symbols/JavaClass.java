@@ -16,6 +16,7 @@
 package org.thoriumlang.compiler.symbols;
 
 import org.thoriumlang.compiler.ast.nodes.Node;
+import org.thoriumlang.compiler.input.loaders.classfile.ClassFile;
 
 import java.util.Objects;
 
@@ -24,11 +25,22 @@ import java.util.Objects;
  */
 public class JavaClass implements Symbol {
     private final Node definingNode;
-    private final Class<?> clazz;
+    private final ClassFile classFile;
 
-    public JavaClass(Node definingNode, Class<?> clazz) {
+    private JavaClass(Node definingNode, ClassFile classFile) {
         this.definingNode = Objects.requireNonNull(definingNode, "definingNode cannot be null");
-        this.clazz = Objects.requireNonNull(clazz, "clazz cannot be null");
+        this.classFile = Objects.requireNonNull(classFile, "classFile cannot be null");
+    }
+
+    public JavaClass(Node definingNode, Class<?> clazz) {
+        this(definingNode, ClassFile.of(clazz));
+    }
+
+    /**
+     * Creates the symbol from the header of a class file, without loading the class.
+     */
+    public static JavaClass of(Node definingNode, ClassFile classFile) {
+        return new JavaClass(definingNode, classFile);
     }
 
     @Override
@@ -36,8 +48,12 @@ public class JavaClass implements Symbol {
         return definingNode;
     }
 
+    public ClassFile getClassFile() {
+        return classFile;
+    }
+
     @Override
     public String toString() {
-        return String.format("(rt.jar: class %s)", clazz.getCanonicalName());
+        return String.format("(rt.jar: class %s)", classFile.getCanonicalName());
     }
 }
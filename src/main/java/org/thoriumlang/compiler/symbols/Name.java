@@ -15,6 +15,9 @@
  */
 package org.thoriumlang.compiler.symbols;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import org.thoriumlang.compiler.collections.Lists;
 import org.thoriumlang.compiler.helpers.Strings;
 
@@ -24,6 +27,10 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class Name {
+    private static final LoadingCache<String, Name> NAMES = CacheBuilder.newBuilder()
+            .weakValues()
+            .build(CacheLoader.from(Name::new));
+
     private final String fqName;
     private final boolean isMethod;
     private final boolean isQualified;
@@ -50,11 +57,38 @@ public class Name {
      * @param packageName the package name
      */
     public Name(String name, String packageName) {
-        this(
-                Objects.requireNonNull(name, "name cannot be null").contains(".")
-                        ? name
-                        : Objects.requireNonNull(packageName, "packageName cannot be null") + "." + name
-        );
+        this(qualify(name, packageName));
+    }
+
+    /**
+     * Returns the canonical Name instance for a fully qualified name. Its parts are computed only once as long as the
+     * instance is reachable, and as the same instance is returned for the same name, comparing them is an identity
+     * check. The instances no longer reachable are garbage collected.
+     *
+     * @param fqName the fully qualified name
+     * @return the canonical instance
+     */
+    public static Name of(String fqName) {
+        Objects.requireNonNull(fqName, "fqName cannot be null");
+        return NAMES.getUnchecked(fqName);
+    }
+
+    /**
+     * Returns the canonical Name instance, prefixing name with packageName in case it's not fully qualified
+     *
+     * @param name        the name
+     * @param packageName the package name
+     * @return the canonical instance
+     * @see #of(String)
+     */
+    public static Name of(String name, String packageName) {
+        return of(qualify(name, packageName));
+    }
+
+    private static String qualify(String name, String packageName) {
+        return Objects.requireNonNull(name, "name cannot be null").contains(".")
+                ? name
+                : Objects.requireNonNull(packageName, "packageName cannot be null") + "." + name;
     }
 
     private static List<String> extractMethodParts(String fqName) {
@@ -159,6 +193,6 @@ public class Name {
 
     @Override
     public int hashCode() {
-        return Objects.hash(fqName);
+        return fqName.hashCode();
     }
 }
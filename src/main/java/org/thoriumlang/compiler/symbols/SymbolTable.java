@@ -15,31 +15,41 @@
  */
 package org.thoriumlang.compiler.symbols;
 
-import org.thoriumlang.compiler.collections.Lists;
+import com.google.common.collect.Maps;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A tree of scopes, each holding symbols. A symbol table may be shared by several threads: lookups never lock nor
+ * modify the table, and each scope is created at most once, even when several threads create it concurrently. Writers
+ * only contend when they target the same scope.
+ */
 public class SymbolTable {
+    /**
+     * Stands for a null symbol, as {@link ConcurrentHashMap} does not accept null values.
+     */
+    private static final Symbol NULL_SYMBOL = () -> null;
+
     private final String name;
     private final SymbolTable parent;
-    private final Map<String, Symbol> symbols;
+    private final ConcurrentMap<String, Symbol> symbols;
     /**
      * Maps a string such as "methodName(_)" to a list of actual symbols such as ["methodName(Number)", "methodName(String)"]
      */
-    private final Map<String, List<Symbol>> methodSymbols;
-    private final Map<String, SymbolTable> scopes;
+    private final ConcurrentMap<String, List<Symbol>> methodSymbols;
+    private final ConcurrentMap<String, SymbolTable> scopes;
 
     private SymbolTable(String name, SymbolTable parent) {
         this.name = name;
         this.parent = parent;
-        this.symbols = new HashMap<>();
-        this.methodSymbols = new HashMap<>();
-        this.scopes = new HashMap<>();
+        this.symbols = new ConcurrentHashMap<>();
+        this.methodSymbols = new ConcurrentHashMap<>();
+        this.scopes = new ConcurrentHashMap<>();
     }
 
     public SymbolTable() {
@@ -47,27 +57,44 @@ public class SymbolTable {
     }
 
     public void put(Name name, Symbol symbol) {
-        SymbolTable table = findTable(name);
-        table.symbols.put(name.getSimpleName(), symbol);
+        SymbolTable table = name.isQualified()
+                ? root().createScopes(name.getParts())
+                : this;
+        table.symbols.put(name.getSimpleName(), symbol == null ? NULL_SYMBOL : symbol);
         if (name.isMethod()) {
             String simpleSignature = name.getNormalizedSimpleName();
-            table.methodSymbols.putIfAbsent(simpleSignature, new ArrayList<>());
-            table.methodSymbols.get(simpleSignature).add(symbol);
+            table.methodSymbols
+                    .computeIfAbsent(simpleSignature, k -> new CopyOnWriteArrayList<>())
+                    .add(symbol);
+        }
+    }
+
+    private SymbolTable createScopes(List<String> parts) {
+        SymbolTable table = this;
+        for (int i = 0; i < parts.size() - 1; i++) {
+            table = table.createScope(parts.get(i));
         }
+        return table;
     }
 
+    /**
+     * Returns the deepest existing scope on the path of the name. As a scope that does not exist would not hold any
+     * symbol, looking up from its closest existing ancestor gives the same result without creating it.
+     */
     private SymbolTable findTable(Name name) {
         if (!name.isQualified()) {
             return this;
         }
 
-        List<String> parts = new ArrayList<>(name.getParts());
+        List<String> parts = name.getParts();
         SymbolTable table = root();
 
-        while (parts.size() > 1) {
-            table.scopes.putIfAbsent(parts.get(0), table.createScope(parts.get(0)));
-            table = table.scopes.get(parts.get(0));
-            parts.remove(0);
+        for (int i = 0; i < parts.size() - 1; i++) {
+            SymbolTable scope = table.scopes.get(parts.get(i));
+            if (scope == null) {
+                return table;
+            }
+            table = scope;
         }
 
         return table;
@@ -84,10 +111,13 @@ public class SymbolTable {
     }
 
     private List<Symbol> findLocalMethod(String simpleSignature) {
-        return methodSymbols.getOrDefault(
-                simpleSignature,
-                isRoot() ? Collections.emptyList() : parent.findLocalMethod(simpleSignature)
-        );
+        for (SymbolTable table = this; table != null; table = table.parent) {
+            List<Symbol> methods = table.methodSymbols.get(simpleSignature);
+            if (methods != null) {
+                return methods;
+            }
+        }
+        return Collections.emptyList();
     }
 
     private boolean isRoot() {
@@ -95,15 +125,15 @@ public class SymbolTable {
     }
 
     private List<Symbol> findLocalVariable(String name) {
-        return Optional
-                .ofNullable(
-                        symbols.getOrDefault(
-                                name,
-                                isRoot() ? null : Lists.get(parent.findLocalVariable(name), 0).orElse(null)
-                        )
-                )
-                .map(Collections::singletonList)
-                .orElse(Collections.emptyList());
+        for (SymbolTable table = this; table != null; table = table.parent) {
+            Symbol symbol = table.symbols.get(name);
+            if (symbol != null) {
+                return symbol == NULL_SYMBOL
+                        ? Collections.emptyList()
+                        : Collections.singletonList(symbol);
+            }
+        }
+        return Collections.emptyList();
     }
 
     public boolean inScope(Name name) {
@@ -114,9 +144,10 @@ public class SymbolTable {
     }
 
     public SymbolTable createScope(String name) {
-        SymbolTable symbolTable = new SymbolTable(name, this);
-        scopes.putIfAbsent(name, symbolTable);
-        return scopes.get(name);
+        SymbolTable scope = scopes.get(name);
+        return scope != null
+                ? scope
+                : scopes.computeIfAbsent(name, n -> new SymbolTable(n, this));
     }
 
     public SymbolTable enclosingScope() {
@@ -135,7 +166,12 @@ public class SymbolTable {
     }
 
     public <T> T accept(SymbolTableVisitor<? extends T> visitor) {
-        return visitor.visit(name, this, symbols, scopes);
+        return visitor.visit(
+                name,
+                this,
+                Maps.transformValues(symbols, s -> s == NULL_SYMBOL ? null : s),
+                Collections.unmodifiableMap(scopes)
+        );
     }
 
     @Override
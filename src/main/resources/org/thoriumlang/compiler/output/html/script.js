@@ -152,7 +152,7 @@ $(document).ready(function () {
 
         HashChangeHook.register(function (nodeId) {
             $('#symbolTable table').hide();
-            $('#symbolTable_' + nodeId).show();
+            $('#symbolTable table[data-nodeIds~="' + nodeId + '"]').show();
             $('#symbolTable').show();
         });
     })();
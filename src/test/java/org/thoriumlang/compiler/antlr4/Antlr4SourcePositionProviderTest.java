@@ -48,6 +48,24 @@ class Antlr4SourcePositionProviderTest {
                 .isEqualTo(5);
     }
 
+    @Test
+    void provide_sharesLineIndex() {
+        Antlr4SourcePositionProvider provider = new Antlr4SourcePositionProvider();
+        CharStream charStream = CharStreams.fromString("line1\nline2");
+        Node node1 = new NodeStub();
+        Node node2 = new NodeStub();
+        Token token1 = new TokenStub(charStream, 1);
+        Token token2 = new TokenStub(charStream, 2);
+
+        provider.provide(node1, token1, token1);
+        provider.provide(node2, token2, token2);
+
+        Assertions.assertThat(node1.getContext().require(SourcePosition.class).getLines())
+                .containsExactly("line1");
+        Assertions.assertThat(node2.getContext().require(SourcePosition.class).getLines())
+                .containsExactly("line2");
+    }
+
     private static class NodeStub extends Node {
         private NodeStub() {
             super(new NodeId(1L));
@@ -60,6 +78,18 @@ class Antlr4SourcePositionProviderTest {
     }
 
     private static class TokenStub implements Token {
+        private final CharStream charStream;
+        private final int line;
+
+        private TokenStub(CharStream charStream, int line) {
+            this.charStream = charStream;
+            this.line = line;
+        }
+
+        private TokenStub() {
+            this(CharStreams.fromString("line1\nline2"), 1);
+        }
+
         @Override
         public String getText() {
             return "line1";
@@ -72,7 +102,7 @@ class Antlr4SourcePositionProviderTest {
 
         @Override
         public int getLine() {
-            return 1;
+            return line;
         }
 
         @Override
@@ -107,7 +137,7 @@ class Antlr4SourcePositionProviderTest {
 
         @Override
         public CharStream getInputStream() {
-            return CharStreams.fromString("line1\nline2");
+            return charStream;
         }
     }
 }
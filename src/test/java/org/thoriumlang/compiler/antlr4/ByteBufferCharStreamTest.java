@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.antlr4;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.misc.Interval;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.thoriumlang.compiler.antlr.ThoriumLexer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class ByteBufferCharStreamTest {
+    private static CharStream stream(String text) {
+        return ByteBufferCharStream.of(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)), "source.th");
+    }
+
+    @Test
+    void of_ascii() {
+        Assertions.assertThat(stream("class Class {}"))
+                .isInstanceOf(ByteBufferCharStream.class)
+                .isInstanceOf(CharSequence.class);
+    }
+
+    @Test
+    void of_utf8() {
+        CharStream stream = stream("class Clâss {}");
+
+        Assertions.assertThat(stream)
+                .isNotInstanceOf(ByteBufferCharStream.class);
+        Assertions.assertThat(stream.size())
+                .isEqualTo(14);
+        Assertions.assertThat(stream.toString())
+                .isEqualTo("class Clâss {}");
+    }
+
+    @Test
+    void navigation() {
+        CharStream stream = stream("abc");
+
+        Assertions.assertThat(stream.size()).isEqualTo(3);
+        Assertions.assertThat(stream.getSourceName()).isEqualTo("source.th");
+        Assertions.assertThat(stream.LA(0)).isZero();
+        Assertions.assertThat(stream.LA(-1)).isEqualTo(IntStream.EOF);
+        Assertions.assertThat(stream.LA(1)).isEqualTo('a');
+        Assertions.assertThat(stream.LA(3)).isEqualTo('c');
+        Assertions.assertThat(stream.LA(4)).isEqualTo(IntStream.EOF);
+
+        stream.consume();
+        stream.consume();
+
+        Assertions.assertThat(stream.index()).isEqualTo(2);
+        Assertions.assertThat(stream.LA(-1)).isEqualTo('b');
+        Assertions.assertThat(stream.LA(1)).isEqualTo('c');
+
+        stream.consume();
+
+        Assertions.assertThatThrownBy(stream::consume)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("cannot consume EOF");
+
+        stream.seek(1);
+
+        Assertions.assertThat(stream.LA(1)).isEqualTo('b');
+    }
+
+    @Test
+    void getText() {
+        CharStream stream = stream("abcdef");
+
+        Assertions.assertThat(stream.getText(Interval.of(1, 3))).isEqualTo("bcd");
+        Assertions.assertThat(stream.getText(Interval.of(4, 10))).isEqualTo("ef");
+        Assertions.assertThat(stream.getText(Interval.of(3, 2))).isEmpty();
+        Assertions.assertThat(stream).hasToString("abcdef");
+    }
+
+    @Test
+    void charSequence() {
+        CharSequence text = (CharSequence) stream("line1\nline2");
+
+        Assertions.assertThat(text.length()).isEqualTo(11);
+        Assertions.assertThat(text.charAt(6)).isEqualTo('l');
+        Assertions.assertThat(text.subSequence(6, 11)).isEqualTo("line2");
+        Assertions.assertThatThrownBy(() -> text.charAt(11))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void empty() {
+        CharStream stream = stream("");
+
+        Assertions.assertThat(stream.size()).isZero();
+        Assertions.assertThat(stream.LA(1)).isEqualTo(IntStream.EOF);
+        Assertions.assertThat(stream).hasToString("");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "class Class {\n    method(): (A & B) | C {\n        return \"string\";\n    }\n}\n",
+            "type Type {\n    /** doc */ method(): A;\n}",
+            "use a.b.*;\n\ttype T {} // comment",
+            "class Clâss {}"
+    })
+    void lexer_sameAsCharStreams(String source) {
+        Assertions.assertThat(tokens(stream(source)))
+                .isEqualTo(tokens(CharStreams.fromString(source)));
+    }
+
+    private static List<String> tokens(CharStream stream) {
+        CommonTokenStream tokenStream = new CommonTokenStream(new ThoriumLexer(stream));
+        tokenStream.fill();
+        return tokenStream.getTokens().stream()
+                .map(Token::toString)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.antlr4;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.thoriumlang.compiler.antlr.ThoriumLexer;
+import org.thoriumlang.compiler.antlr.ThoriumParser;
+import org.thoriumlang.compiler.api.errors.CompilationError;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class ParsingStrategyTest {
+    @AfterEach
+    void resetStrategy() {
+        System.clearProperty("thc.parser.strategy");
+    }
+
+    private static Stream<String> sources() throws IOException, URISyntaxException {
+        Path folder = Paths.get(ParsingStrategyTest.class.getResource("/org/thoriumlang/compiler/it/").toURI());
+        List<String> sources = new ArrayList<>();
+        try (Stream<Path> files = Files.list(folder)) {
+            for (Path file : files.filter(p -> p.toString().endsWith(".th")).sorted().collect(Collectors.toList())) {
+                sources.add(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            }
+        }
+        for (String source : ParserWarmup.SOURCES) {
+            sources.add(source);
+        }
+        return sources.stream();
+    }
+
+    private static String parse(ParsingStrategy strategy, String source, List<CompilationError> errors) {
+        ThoriumParser.RootContext root = strategy.parse(
+                new CommonTokenStream(new ThoriumLexer(CharStreams.fromString(source))),
+                new ParserErrorListener(errors::add)
+        );
+        return root.toStringTree(new ThoriumParser(null));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sources")
+    void sllThenLl_sameAsLl(String source) {
+        List<CompilationError> llErrors = new ArrayList<>();
+        List<CompilationError> sllErrors = new ArrayList<>();
+
+        Assertions.assertThat(parse(ParsingStrategy.SLL_THEN_LL, source, sllErrors))
+                .isEqualTo(parse(ParsingStrategy.LL, source, llErrors));
+        Assertions.assertThat(sllErrors)
+                .extracting(Object::toString)
+                .isEqualTo(llErrors.stream().map(Object::toString).collect(Collectors.toList()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "type Type {",
+            "type type Type {}",
+            "class Class { method() { other(\"String\" } }",
+            "type Type {} stuff"
+    })
+    void sllThenLl_syntaxErrors(String source) {
+        List<CompilationError> llErrors = new ArrayList<>();
+        List<CompilationError> sllErrors = new ArrayList<>();
+
+        Assertions.assertThat(parse(ParsingStrategy.SLL_THEN_LL, source, sllErrors))
+                .isEqualTo(parse(ParsingStrategy.LL, source, llErrors));
+        Assertions.assertThat(sllErrors)
+                .isNotEmpty()
+                .extracting(Object::toString)
+                .isEqualTo(llErrors.stream().map(Object::toString).collect(Collectors.toList()));
+    }
+
+    @Test
+    void current() {
+        Assertions.assertThat(ParsingStrategy.current())
+                .isEqualTo(ParsingStrategy.SLL_THEN_LL);
+
+        System.setProperty("thc.parser.strategy", "ll");
+
+        Assertions.assertThat(ParsingStrategy.current())
+                .isEqualTo(ParsingStrategy.LL);
+    }
+
+    @Test
+    void warmUp() {
+        for (String source : ParserWarmup.SOURCES) {
+            List<CompilationError> errors = new ArrayList<>();
+            parse(ParsingStrategy.LL, source, errors);
+            Assertions.assertThat(errors)
+                    .isEmpty();
+        }
+
+        ParserWarmup.warmUp();
+        ParserWarmup.warmUp();
+    }
+}
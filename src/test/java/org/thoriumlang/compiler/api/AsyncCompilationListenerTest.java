@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.api;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.thoriumlang.compiler.api.errors.CompilationError;
+import org.thoriumlang.compiler.input.Source;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+class AsyncCompilationListenerTest {
+    @Test
+    void constructor_listener() {
+        Assertions.assertThatThrownBy(() -> new AsyncCompilationListener(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("listener cannot be null");
+    }
+
+    @Test
+    void constructor_capacity() {
+        Assertions.assertThatThrownBy(() -> new AsyncCompilationListener(new NoopCompilationListener(), 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("capacity must be positive");
+    }
+
+    @Test
+    void onCompilationFinished_deliversEventsInOrder() {
+        RecordingListener recordingListener = new RecordingListener();
+        List<String> events = recordingListener.events;
+        Source source = (nodeIdGenerator, symbolTable, algorithms) -> null;
+
+        try (AsyncCompilationListener listener = new AsyncCompilationListener(recordingListener, 2)) {
+            listener.subscribe(String.class, p -> events.add("string:" + p));
+            listener.subscribe(Integer.class, p -> events.add("integer:" + p));
+
+            listener.onCompilationStarted();
+            listener.onSourceStarted(source);
+            listener.onEvent(new Event(String.class, "a"));
+            listener.onEvent(new Event(Long.class, 1L));
+            listener.onEvent(new Event(Integer.class, 2));
+            listener.onSourceFinished(source, null);
+            listener.onCompilationFinished();
+
+            Assertions.assertThat(events)
+                    .containsExactly(
+                            "onCompilationStarted",
+                            "onSourceStarted",
+                            "string:a",
+                            "onEvent",
+                            "integer:2",
+                            "onSourceFinished",
+                            "onCompilationFinished"
+                    );
+        }
+    }
+
+    @Test
+    void onError_doesNotWaitForListener() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<CompilationError> error = new AtomicReference<>();
+
+        try (AsyncCompilationListener listener = new AsyncCompilationListener(new NoopCompilationListener() {
+            @Override
+            public void onError(Source source, CompilationError e) {
+                try {
+                    latch.await();
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                error.set(e);
+            }
+        })) {
+            CompilationError compilationError = new CompilationError() {
+            };
+            listener.onError(null, compilationError);
+
+            Assertions.assertThat(error.get())
+                    .isNull();
+
+            latch.countDown();
+            listener.flush();
+
+            Assertions.assertThat(error.get())
+                    .isSameAs(compilationError);
+        }
+    }
+
+    @Test
+    void flush_fromSubscriber() {
+        try (AsyncCompilationListener listener = new AsyncCompilationListener(new NoopCompilationListener())) {
+            listener.subscribe(String.class, p -> listener.flush());
+
+            listener.onEvent(new Event(String.class, "a"));
+
+            Assertions.assertThatThrownBy(listener::flush)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("cannot flush while delivering an event");
+        }
+    }
+
+    @Test
+    void flush_rethrowsListenerFailure() {
+        AsyncCompilationListener listener = new AsyncCompilationListener(new NoopCompilationListener() {
+            @Override
+            public void onCompilationStarted() {
+                throw new IllegalStateException("listener");
+            }
+        });
+
+        listener.onCompilationStarted();
+
+        Assertions.assertThatThrownBy(listener::onCompilationFinished)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("listener");
+
+        listener.close();
+
+        Assertions.assertThatThrownBy(listener::onCompilationStarted)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("listener is closed");
+    }
+
+    private static class RecordingListener implements CompilationListener {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onCompilationStarted() {
+            events.add("onCompilationStarted");
+        }
+
+        @Override
+        public void onCompilationFinished() {
+            events.add("onCompilationFinished");
+        }
+
+        @Override
+        public void onSourceStarted(Source source) {
+            events.add("onSourceStarted");
+        }
+
+        @Override
+        public void onSourceFinished(Source source, CompilationContext context) {
+            events.add("onSourceFinished");
+        }
+
+        @Override
+        public void onError(Source source, CompilationError error) {
+            events.add("onError");
+        }
+
+        @Override
+        public void onEvent(Event event) {
+            events.add("onEvent");
+        }
+    }
+}
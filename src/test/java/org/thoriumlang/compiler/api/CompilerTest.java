@@ -15,6 +15,7 @@ import org.thoriumlang.compiler.ast.nodes.TypeSpecSimple;
 import org.thoriumlang.compiler.ast.nodes.Visibility;
 import org.thoriumlang.compiler.input.Source;
 import org.thoriumlang.compiler.input.Sources;
+import org.thoriumlang.compiler.input.loaders.TypeLoaderCache;
 import org.thoriumlang.compiler.symbols.Name;
 import org.thoriumlang.compiler.symbols.SymbolTable;
 import org.thoriumlang.compiler.testsupport.NodeStub;
@@ -24,6 +25,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 class CompilerTest {
@@ -41,6 +47,81 @@ class CompilerTest {
                 .hasMessage("plugins cannot be null");
     }
 
+    @Test
+    void constructor_executor() {
+        Assertions.assertThatThrownBy(() -> new Compiler(new ListenerStub(), Collections.emptyList(), null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("executor cannot be null");
+    }
+
+    @Test
+    void constructor_pluginExecutor() {
+        Assertions.assertThatThrownBy(() -> new Compiler(
+                new ListenerStub(),
+                Collections.emptyList(),
+                Runnable::run,
+                null,
+                new NoopBuildCache(),
+                new TypeLoaderCache()
+        ))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("pluginExecutor cannot be null");
+    }
+
+    @Test
+    void compile_sameSourceConcurrently() throws InterruptedException {
+        AtomicInteger astCount = new AtomicInteger();
+        AST ast = ast();
+        Source source = (nodeIdGenerator, symbolTable, algorithms) -> {
+            astCount.incrementAndGet();
+            return ast;
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            new Compiler(new NoopCompilationListener(), Collections.emptyList(), executor).compile(new Sources() {
+                @Override
+                public List<Source> sources() {
+                    return Collections.nCopies(16, source);
+                }
+
+                @Override
+                public Optional<Source> load(Name name) {
+                    return Optional.empty();
+                }
+            });
+        }
+        finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        Assertions.assertThat(astCount)
+                .hasValue(1);
+    }
+
+    @Test
+    void compile_rethrowsSourceException() {
+        Compiler compiler = new Compiler(new NoopCompilationListener(), Collections.emptyList(), Runnable::run);
+        Sources sources = new Sources() {
+            @Override
+            public List<Source> sources() {
+                return Collections.singletonList((nodeIdGenerator, symbolTable, algorithms) -> {
+                    throw new IllegalStateException("source");
+                });
+            }
+
+            @Override
+            public Optional<Source> load(Name name) {
+                return Optional.empty();
+            }
+        };
+
+        Assertions.assertThatThrownBy(() -> compiler.compile(sources))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("source");
+    }
+
     @Test
     void compile() {
         ListenerStub listener = new ListenerStub();
@@ -87,6 +168,54 @@ class CompilerTest {
                 .isSameAs(ast.root().orElseThrow(() -> new IllegalStateException("no root found")));
     }
 
+    @Test
+    void compile_asynchronousPlugin() throws InterruptedException {
+        ListenerStub listener = new ListenerStub();
+        PluginStub plugin = new PluginStub(true);
+        ExecutorService pluginExecutor = Executors.newSingleThreadExecutor();
+        AST ast = ast();
+
+        try {
+            new Compiler(
+                    listener,
+                    Collections.singletonList(plugin),
+                    Runnable::run,
+                    pluginExecutor,
+                    new NoopBuildCache(),
+                    new TypeLoaderCache()
+            ).compile(new Sources() {
+                @Override
+                public List<Source> sources() {
+                    return Collections.singletonList((nodeIdGenerator, symbolTable, algorithms) -> ast);
+                }
+
+                @Override
+                public Optional<Source> load(Name name) {
+                    return Optional.empty();
+                }
+            });
+        }
+        finally {
+            pluginExecutor.shutdown();
+            pluginExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        Assertions.assertThat(plugin.thread.get())
+                .isNotNull()
+                .isNotSameAs(Thread.currentThread());
+
+        Assertions.assertThat(listener.events)
+                .containsExactly(
+                        "onCompilationStarted",
+                        "onSourceStarted",
+                        "onError:symbol not found: ast (-1)",
+                        "onEvent:plugin",
+                        "onError:symbol not found: plugin (-1)",
+                        "onSourceFinished",
+                        "onCompilationFinished"
+                );
+    }
+
     private AST ast() {
         return new AST(
                 new InputStreamStub(),
@@ -142,8 +271,26 @@ class CompilerTest {
     }
 
     private static class PluginStub implements Plugin {
+        private final boolean asynchronous;
+        private final AtomicReference<Thread> thread;
+
+        private PluginStub(boolean asynchronous) {
+            this.asynchronous = asynchronous;
+            this.thread = new AtomicReference<>();
+        }
+
+        private PluginStub() {
+            this(false);
+        }
+
+        @Override
+        public boolean isAsynchronous() {
+            return asynchronous;
+        }
+
         @Override
         public List<CompilationError> execute(CompilationContext context) {
+            thread.set(Thread.currentThread());
             context.listener().onEvent(new Event(String.class, "plugin"));
             return Collections.singletonList(new SymbolNotFoundError(
                     new NodeStub()
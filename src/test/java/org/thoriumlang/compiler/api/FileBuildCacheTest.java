@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.api;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thoriumlang.compiler.input.Source;
+import org.thoriumlang.compiler.input.SourceFiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class FileBuildCacheTest {
+    @TempDir
+    Path root;
+    @TempDir
+    Path cache;
+
+    @BeforeEach
+    void setup() throws IOException {
+        Files.createFile(root.resolve(".throot"));
+        Files.createDirectories(root.resolve("ns"));
+        write("ns/A.th", "type A {}");
+        write("ns/B.th", "use ns.A;\ntype B : A {}");
+        write("ns/C.th", "type C {}");
+    }
+
+    private void write(String path, String content) throws IOException {
+        Files.write(root.resolve(path), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> compile() {
+        List<String> sourcesStarted = new ArrayList<>();
+        new Compiler(
+                new NoopCompilationListener() {
+                    @Override
+                    public void onSourceStarted(Source source) {
+                        sourcesStarted.add(root.relativize(root.resolve(source.toString())).toString());
+                    }
+                },
+                Collections.emptyList(),
+                Runnable::run,
+                new FileBuildCache(cache)
+        ).compile(new SourceFiles(root));
+        return sourcesStarted;
+    }
+
+    @Test
+    void constructor() {
+        try {
+            new FileBuildCache(null);
+        }
+        catch (NullPointerException e) {
+            Assertions.assertThat(e.getMessage())
+                    .isEqualTo("directory cannot be null");
+            return;
+        }
+        Assertions.fail("NPE not thrown");
+    }
+
+    @Test
+    void compile_skipsUpToDateSources() {
+        Assertions.assertThat(compile())
+                .containsExactlyInAnyOrder("ns/A.th", "ns/B.th", "ns/C.th");
+
+        Assertions.assertThat(compile())
+                .isEmpty();
+    }
+
+    @Test
+    void compile_recompilesChangedSource() throws IOException {
+        compile();
+        write("ns/C.th", "type C { }");
+
+        Assertions.assertThat(compile())
+                .containsExactly("ns/C.th");
+    }
+
+    @Test
+    void compile_recompilesDependents() throws IOException {
+        compile();
+        write("ns/A.th", "type A { }");
+
+        Assertions.assertThat(compile())
+                .containsExactlyInAnyOrder("ns/A.th", "ns/B.th");
+    }
+
+    @Test
+    void compile_recompilesSourcesWithErrors() throws IOException {
+        write("ns/C.th", "type C : Unknown {}");
+
+        Assertions.assertThat(compile())
+                .containsExactlyInAnyOrder("ns/A.th", "ns/B.th", "ns/C.th");
+
+        Assertions.assertThat(compile())
+                .containsExactly("ns/C.th");
+    }
+
+    @Test
+    void compile_corruptedCache() throws IOException {
+        compile();
+        Files.write(cache.resolve("build-cache.bin"), new byte[]{1, 2, 3});
+
+        Assertions.assertThat(compile())
+                .containsExactlyInAnyOrder("ns/A.th", "ns/B.th", "ns/C.th");
+    }
+}
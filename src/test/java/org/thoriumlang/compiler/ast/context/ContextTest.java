@@ -17,8 +17,11 @@ package org.thoriumlang.compiler.ast.context;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.thoriumlang.compiler.symbols.SymbolTable;
 import org.thoriumlang.compiler.testsupport.NodeStub;
 
+import java.util.Collections;
+
 class ContextTest {
     @Test
     void put_keyType_nullKey() {
@@ -472,4 +475,55 @@ class ContextTest {
                 .hasSize(1);
     }
 
+    @Test
+    void put_wellKnownTypes() {
+        Context context = new NodeStub().getContext();
+        SymbolTable symbolTable = new SymbolTable();
+        ReferencedNode referencedNode = new ReferencedNode(Collections.singletonList(new NodeStub()));
+
+        context
+                .put(SymbolTable.class, symbolTable)
+                .put(ReferencedNode.class, referencedNode)
+                .put("key", SymbolTable.class, new SymbolTable())
+                .put(String.class, "Hello");
+
+        Assertions.assertThat(context.get(SymbolTable.class))
+                .get()
+                .isSameAs(symbolTable);
+        Assertions.assertThat(context.get(ReferencedNode.class))
+                .get()
+                .isSameAs(referencedNode);
+        Assertions.assertThat(context.get("key", SymbolTable.class))
+                .get()
+                .isNotSameAs(symbolTable);
+        Assertions.assertThat(context.contains(Relatives.class))
+                .isFalse();
+        Assertions.assertThat(context.keys())
+                .extracting(Context.Key::toString)
+                .containsExactly(
+                        "key(org.thoriumlang.compiler.symbols.SymbolTable)",
+                        "null(java.lang.String)",
+                        "null(org.thoriumlang.compiler.ast.context.ReferencedNode)",
+                        "null(org.thoriumlang.compiler.symbols.SymbolTable)"
+                );
+    }
+
+    @Test
+    void putAll_wellKnownTypes() {
+        Context sourceContext = new NodeStub().getContext();
+        Context destinationContext = new NodeStub().getContext();
+        SymbolTable symbolTable = new SymbolTable();
+
+        sourceContext.put(SymbolTable.class, symbolTable);
+        destinationContext.put(String.class, "Hello");
+
+        destinationContext.putAll(sourceContext);
+
+        Assertions.assertThat(destinationContext.get(SymbolTable.class))
+                .get()
+                .isSameAs(symbolTable);
+        Assertions.assertThat(destinationContext.get(String.class))
+                .get()
+                .isEqualTo("Hello");
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.ast.context;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LineIndexTest {
+    @Test
+    void lineCount() {
+        Assertions.assertThat(LineIndex.of("").lineCount()).isEqualTo(1);
+        Assertions.assertThat(LineIndex.of("line1").lineCount()).isEqualTo(1);
+        Assertions.assertThat(LineIndex.of("line1\nline2").lineCount()).isEqualTo(2);
+        Assertions.assertThat(LineIndex.of("line1\nline2\n").lineCount()).isEqualTo(3);
+    }
+
+    @Test
+    void line() {
+        LineIndex lineIndex = LineIndex.of("line1\n\nline3");
+
+        Assertions.assertThat(lineIndex.line(1)).isEqualTo("line1");
+        Assertions.assertThat(lineIndex.line(2)).isEmpty();
+        Assertions.assertThat(lineIndex.line(3)).isEqualTo("line3");
+    }
+
+    @Test
+    void line_outOfBounds() {
+        LineIndex lineIndex = LineIndex.of("line1\nline2");
+
+        Assertions.assertThatThrownBy(() -> lineIndex.line(0))
+                .isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessage("line 0 not in [1, 2]");
+        Assertions.assertThatThrownBy(() -> lineIndex.line(3))
+                .isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessage("line 3 not in [1, 2]");
+    }
+
+    @Test
+    void lineLength() {
+        LineIndex lineIndex = LineIndex.of("line1\nl2\n");
+
+        Assertions.assertThat(lineIndex.lineLength(1)).isEqualTo(5);
+        Assertions.assertThat(lineIndex.lineLength(2)).isEqualTo(2);
+        Assertions.assertThat(lineIndex.lineLength(3)).isZero();
+    }
+
+    @Test
+    void lines() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= 100; i++) {
+            text.append("line").append(i).append('\n');
+        }
+        LineIndex lineIndex = LineIndex.of(text);
+
+        Assertions.assertThat(lineIndex.lines(42, 44))
+                .containsExactly("line42", "line43", "line44");
+    }
+
+    @Test
+    void lines_lastBeforeFirst() {
+        LineIndex lineIndex = LineIndex.of("line1\nline2");
+
+        Assertions.assertThatThrownBy(() -> lineIndex.lines(2, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("lastLine cannot be before firstLine");
+    }
+}
@@ -291,6 +291,65 @@ class RelativesTest {
         ).isEmpty();
     }
 
+    @Test
+    void children_noVisitor() {
+        Relatives parent = new Relatives(new FamilyTestNode());
+        Relatives child1 = new Relatives(new FamilyTestNode(), parent);
+        Relatives child2 = new Relatives(new FamilyTestNode(), parent);
+
+        Assertions.assertThat(parent.children())
+                .containsExactly(child1, child2);
+        Assertions.assertThat(child1.children())
+                .isEmpty();
+    }
+
+    @Test
+    void index() {
+        Relatives parent = new Relatives(new FamilyTestNode());
+        Relatives child1 = new Relatives(new FamilyTestNode(), parent);
+        Relatives child2 = new Relatives(new FamilyTestNode(), parent);
+
+        Assertions.assertThat(parent.index())
+                .isZero();
+        Assertions.assertThat(child1.index())
+                .isZero();
+        Assertions.assertThat(child2.index())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void siblings_noVisitor() {
+        Relatives parent = new Relatives(new FamilyTestNode());
+        Relatives child1 = new Relatives(new FamilyTestNode(), parent);
+        Relatives child2 = new Relatives(new FamilyTestNode(), parent);
+
+        Assertions.assertThat(child2.siblings())
+                .containsExactly(child1, child2);
+        Assertions.assertThat(parent.siblings())
+                .containsExactly(parent);
+    }
+
+    @Test
+    void sibling_noVisitor() {
+        Relatives parent = new Relatives(new FamilyTestNode());
+        Relatives child1 = new Relatives(new FamilyTestNode(), parent);
+        Relatives child2 = new Relatives(new FamilyTestNode(), parent);
+        Relatives child3 = new Relatives(new FamilyTestNode(), parent);
+
+        Assertions.assertThat(child2.nextSibling())
+                .get().isSameAs(child3);
+        Assertions.assertThat(child2.previousSibling())
+                .get().isSameAs(child1);
+        Assertions.assertThat(child1.sibling(2))
+                .get().isSameAs(child3);
+        Assertions.assertThat(child3.nextSibling())
+                .isEmpty();
+        Assertions.assertThat(child1.previousSibling())
+                .isEmpty();
+        Assertions.assertThat(parent.nextSibling())
+                .isEmpty();
+    }
+
     private static class FamilyTestNode extends Node {
         private static final NodeId nodeId = new NodeId(1);
         private final List<Node> children;
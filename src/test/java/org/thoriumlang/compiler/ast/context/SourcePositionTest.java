@@ -80,4 +80,19 @@ class SourcePositionTest {
         Assertions.assertThat(sourcePosition.getLines()).containsExactly("line1", "line2", "line3");
         Assertions.assertThat(sourcePosition.toString()).isEqualTo("1:1");
     }
-}
\ No newline at end of file
+
+    @Test
+    void lineIndex() {
+        LineIndex lineIndex = LineIndex.of("line1\nline2\nline3\nline4");
+        SourcePosition sourcePosition = new SourcePosition(
+                new SourcePosition.Position(2, 3),
+                new SourcePosition.Position(3, 4),
+                lineIndex
+        );
+        Assertions.assertThat(sourcePosition.getStartLine()).isEqualTo(2);
+        Assertions.assertThat(sourcePosition.getEndLine()).isEqualTo(3);
+        Assertions.assertThat(sourcePosition.getLength()).isEqualTo(8);
+        Assertions.assertThat(sourcePosition.getText()).isEqualTo("line2\nline3");
+        Assertions.assertThat(sourcePosition.getLines()).containsExactly("line2", "line3");
+    }
+}
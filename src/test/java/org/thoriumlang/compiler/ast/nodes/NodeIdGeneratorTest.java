@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.ast.nodes;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+class NodeIdGeneratorTest {
+    @Test
+    void nextId_consecutive() {
+        NodeIdGenerator nodeIdGenerator = new NodeIdGenerator(4);
+
+        Assertions.assertThat(LongStream.range(0, 10).map(i -> nodeIdGenerator.nextId()))
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    void next() {
+        NodeIdGenerator nodeIdGenerator = new NodeIdGenerator();
+
+        Assertions.assertThat(nodeIdGenerator.next())
+                .isEqualTo(new NodeId(1L));
+        Assertions.assertThat(nodeIdGenerator.next().getId())
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void constructor_invalidBlockSize() {
+        Assertions.assertThatIllegalArgumentException()
+                .isThrownBy(() -> new NodeIdGenerator(0))
+                .withMessage("blockSize must be positive");
+    }
+
+    @Test
+    void nextId_concurrent() {
+        NodeIdGenerator nodeIdGenerator = new NodeIdGenerator(16);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Void>> futures = IntStream.range(0, 8)
+                    .mapToObj(i -> CompletableFuture.runAsync(
+                            () -> {
+                                for (int j = 0; j < 1000; j++) {
+                                    ids.add(nodeIdGenerator.nextId());
+                                }
+                            },
+                            executor
+                    ))
+                    .collect(Collectors.toList());
+            futures.forEach(CompletableFuture::join);
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertThat(ids)
+                .hasSize(8000)
+                .allMatch(id -> id > 0);
+    }
+}
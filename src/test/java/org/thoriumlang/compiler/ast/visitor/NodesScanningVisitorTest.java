@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.ast.visitor;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thoriumlang.compiler.ast.AST;
+import org.thoriumlang.compiler.ast.nodes.Method;
+import org.thoriumlang.compiler.ast.nodes.Node;
+import org.thoriumlang.compiler.ast.nodes.NodeIdGenerator;
+import org.thoriumlang.compiler.ast.nodes.Root;
+import org.thoriumlang.compiler.symbols.SymbolTable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class NodesScanningVisitorTest {
+    private Root root;
+
+    @BeforeEach
+    void setup() {
+        root = new AST(
+                NodesScanningVisitorTest.class.getResourceAsStream(
+                        "/org/thoriumlang/compiler/ast/algorithms/symboltable/simple.th"
+                ),
+                "namespace",
+                new NodeIdGenerator(),
+                Collections.emptyList(),
+                new SymbolTable()
+        ).root().orElseThrow(() -> new IllegalStateException("no root found"));
+    }
+
+    @Test
+    void collect() {
+        Assertions.assertThat(NodesScanningVisitor.collect(root, n -> true))
+                .isNotEmpty()
+                .containsExactlyElementsOf(new NodesMatchingVisitor(n -> true).visit(root));
+    }
+
+    @Test
+    void collect_predicate() {
+        Assertions.assertThat(NodesScanningVisitor.collect(root, n -> n instanceof Method))
+                .isNotEmpty()
+                .containsExactlyElementsOf(new NodesMatchingVisitor(n -> n instanceof Method).visit(root));
+    }
+
+    @Test
+    void forEach() {
+        List<Node> nodes = new ArrayList<>();
+
+        NodesScanningVisitor.forEach(root, n -> n instanceof Method, nodes::add);
+
+        Assertions.assertThat(nodes)
+                .containsExactlyElementsOf(new NodesMatchingVisitor(n -> n instanceof Method).visit(root));
+    }
+
+    @Test
+    void count() {
+        Assertions.assertThat(NodesScanningVisitor.count(root, n -> true))
+                .isEqualTo(new NodesMatchingVisitor(n -> true).visit(root).size());
+    }
+
+    @Test
+    void findFirst() {
+        Assertions.assertThat(NodesScanningVisitor.findFirst(root, n -> n instanceof Method))
+                .contains(new NodesMatchingVisitor(n -> n instanceof Method).visit(root).get(0));
+    }
+
+    @Test
+    void findFirst_none() {
+        Assertions.assertThat(NodesScanningVisitor.findFirst(root, n -> false))
+                .isEmpty();
+    }
+
+    @Test
+    void visit_stops() {
+        List<Node> visitedNodes = new ArrayList<>();
+
+        Boolean completed = root.accept(new NodesScanningVisitor(
+                n -> {
+                    visitedNodes.add(n);
+                    return true;
+                },
+                n -> visitedNodes.size() < 3
+        ));
+
+        Assertions.assertThat(completed)
+                .isFalse();
+        Assertions.assertThat(visitedNodes)
+                .hasSize(3);
+    }
+
+    @Test
+    void visit_completes() {
+        Assertions.assertThat(root.accept(new NodesScanningVisitor(n -> true, n -> true)))
+                .isTrue();
+    }
+}
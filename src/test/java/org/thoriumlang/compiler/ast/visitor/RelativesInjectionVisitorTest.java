@@ -57,7 +57,10 @@ import org.thoriumlang.compiler.ast.nodes.Visibility;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 class RelativesInjectionVisitorTest {
     private NodeIdGenerator nodeIdGenerator;
@@ -530,6 +533,48 @@ class RelativesInjectionVisitorTest {
         ).isSameAs(root);
     }
 
+    @Test
+    void children_matchTraversalOrder() throws IOException {
+        Root root = new RootVisitor(nodeIdGenerator, "namespace").visit(
+                new ThoriumParser(
+                        new CommonTokenStream(
+                                new ThoriumLexer(
+                                        CharStreams.fromStream(
+                                                RelativesInjectionVisitor.class.getResourceAsStream(
+                                                        "/org/thoriumlang/compiler/ast/algorithms/typechecking/Main_discovery.th"
+                                                )
+                                        )
+                                )
+                        )
+                ).root()
+        );
+
+        relativesInjectionVisitor.visit(root);
+        relativesInjectionVisitor.visit(root);
+
+        List<Node> nodes = NodesScanningVisitor.collect(root, n -> true);
+        Map<Node, Integer> traversalOrder = new IdentityHashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            traversalOrder.put(nodes.get(i), i);
+        }
+
+        int childrenCount = 0;
+        for (Node node : nodes) {
+            List<Node> children = node.getContext().require(Relatives.class).children().stream()
+                    .map(Relatives::node)
+                    .collect(Collectors.toList());
+            childrenCount += children.size();
+
+            Assertions.assertThat(children)
+                    .allSatisfy(c -> Assertions.assertThat(parent(c)).isSameAs(node));
+            Assertions.assertThat(children.stream().map(traversalOrder::get).collect(Collectors.toList()))
+                    .isSorted();
+        }
+
+        Assertions.assertThat(childrenCount)
+                .isEqualTo(nodes.size() - 1);
+    }
+
     private Node parent(Node node) {
         return node.getContext().require(Relatives.class)
                 .parent()
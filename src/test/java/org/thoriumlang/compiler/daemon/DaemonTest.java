@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.daemon;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class DaemonTest {
+    @TempDir
+    Path root;
+
+    private Daemon daemon;
+
+    @BeforeEach
+    void setup() throws IOException {
+        Files.createFile(root.resolve(".throot"));
+        write("A.th", "type A {}");
+        write("B.th", "type B : A {}");
+
+        daemon = new Daemon(0, Collections.emptyList(), Runnable::run);
+        daemon.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        daemon.close();
+    }
+
+    private void write(String path, String content) throws IOException {
+        Files.write(root.resolve(path), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> compile(Path root) throws IOException {
+        List<String> events = new ArrayList<>();
+
+        new DaemonClient(daemon.getPort()).compile(root, new DaemonListener() {
+            @Override
+            public void onCompilationStarted() {
+                events.add("started");
+            }
+
+            @Override
+            public void onCompilationFinished() {
+                events.add("finished");
+            }
+
+            @Override
+            public void onSourceStarted(String source) {
+                events.add("sourceStarted " + root.relativize(root.resolve(source)));
+            }
+
+            @Override
+            public void onSourceFinished(String source) {
+                events.add("sourceFinished " + root.relativize(root.resolve(source)));
+            }
+
+            @Override
+            public void onError(String source, String error) {
+                events.add("error " + root.relativize(root.resolve(source)) + " " + error);
+            }
+        });
+
+        return events;
+    }
+
+    @Test
+    void compile() throws IOException {
+        Assertions.assertThat(compile(root))
+                .startsWith("started")
+                .endsWith("finished")
+                .contains("sourceStarted A.th", "sourceFinished A.th", "sourceStarted B.th", "sourceFinished B.th")
+                .hasSize(6);
+    }
+
+    @Test
+    void compile_unchangedRoot() throws IOException {
+        write("B.th", "type B : Unknown {}");
+        List<String> events = compile(root);
+
+        Assertions.assertThat(events)
+                .anySatisfy(e -> Assertions.assertThat(e).startsWith("error B.th"));
+        Assertions.assertThat(compile(root))
+                .containsExactlyInAnyOrderElementsOf(events);
+    }
+
+    @Test
+    void compile_recompilesChangedRoot() throws IOException {
+        compile(root);
+        write("B.th", "type B : Unknown {}");
+
+        Assertions.assertThat(compile(root))
+                .contains("sourceStarted A.th", "sourceStarted B.th")
+                .anySatisfy(e -> Assertions.assertThat(e)
+                        .startsWith("error B.th")
+                        .contains("symbol not found: Unknown")
+                );
+    }
+
+    @Test
+    void compile_failure(@TempDir Path noRoot) {
+        Assertions.assertThatThrownBy(() -> compile(noRoot.resolve("missing")))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("compilation failed: ");
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.daemon;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ProtocolTest {
+    @Test
+    void message() {
+        Assertions.assertThat(Protocol.message("a", "b\tc", "d\ne\\f"))
+                .isEqualTo("a\tb\\tc\td\\ne\\\\f");
+    }
+
+    @Test
+    void fields() {
+        Assertions.assertThat(Protocol.fields(Protocol.message("a", "b\tc", "d\r\ne\\f", "")))
+                .containsExactly("a", "b\tc", "d\r\ne\\f", "");
+    }
+}
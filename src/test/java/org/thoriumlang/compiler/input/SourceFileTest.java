@@ -2,14 +2,22 @@ package org.thoriumlang.compiler.input;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.thoriumlang.compiler.ast.AST;
+import org.thoriumlang.compiler.ast.context.SourcePosition;
 import org.thoriumlang.compiler.ast.nodes.NodeIdGenerator;
+import org.thoriumlang.compiler.ast.nodes.Root;
 import org.thoriumlang.compiler.symbols.SymbolTable;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.Optional;
 
 class SourceFileTest {
     @Test
@@ -44,4 +52,36 @@ class SourceFileTest {
         Assertions.assertThat(ast.root())
                 .isNotNull();
     }
+
+    @Test
+    void ast_fileChangedAfterParsing(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("A.th");
+        Files.write(file, "type A {}".getBytes(StandardCharsets.UTF_8));
+        AST ast = new SourceFile("namespace", file)
+                .ast(new NodeIdGenerator(), new SymbolTable(), Collections.emptyList());
+        Root root = ast.root().orElseThrow(() -> new IllegalStateException("no root found"));
+
+        Files.write(file, new byte[0]);
+
+        Assertions.assertThat(root.getTopLevelNode().getContext().get(SourcePosition.class))
+                .get()
+                .extracting(SourcePosition::getLines)
+                .isEqualTo(Collections.singletonList("type A {}"));
+    }
+
+    @Test
+    void digest(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("A.th");
+        Files.write(file, "type A {}".getBytes(StandardCharsets.UTF_8));
+        SourceFile sourceFile = new SourceFile("namespace", file);
+        Optional<String> digest = sourceFile.digest();
+
+        Assertions.assertThat(digest)
+                .hasValue("cbe719225cffbece5745fd3c20fdd91c51837362cb11ee956701922b7a62e5c6");
+
+        Files.write(file, "type B {}".getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertThat(sourceFile.digest())
+                .isNotEqualTo(digest);
+    }
 }
@@ -17,9 +17,14 @@ package org.thoriumlang.compiler.input;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.thoriumlang.compiler.symbols.Name;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 
@@ -51,4 +56,89 @@ class SourceFilesTest {
 
         sourceFiles.load(new Name("org.thoriumlang.compiler.tests.class"));
     }
+
+    @Test
+    void load_found() throws URISyntaxException {
+        SourceFiles sourceFiles = new SourceFiles(
+                Paths.get(SourceFilesTest.class.getResource("/org/thoriumlang/compiler/").toURI())
+        );
+
+        Assertions.assertThat(sourceFiles.load(new Name("org.thoriumlang.compiler.tests.class")))
+                .get()
+                .extracting(Object::toString)
+                .asString()
+                .endsWith("/org/thoriumlang/compiler/tests/class.th");
+    }
+
+    @Test
+    void load_notFound() throws URISyntaxException {
+        SourceFiles sourceFiles = new SourceFiles(
+                Paths.get(SourceFilesTest.class.getResource("/org/thoriumlang/compiler/").toURI())
+        );
+
+        Assertions.assertThat(sourceFiles.load(new Name("org.thoriumlang.compiler.tests.notFound")))
+                .isEmpty();
+    }
+
+    @Test
+    void load_nestedRoot(@TempDir Path root) throws IOException {
+        Files.createFile(root.resolve(".throot"));
+        Files.createDirectories(root.resolve("outer/inner/ns"));
+        Files.createFile(root.resolve("outer/inner/.throot"));
+        Path source = Files.createFile(root.resolve("outer/inner/ns/A.th"));
+
+        SourceFiles sourceFiles = new SourceFiles(root);
+
+        Assertions.assertThat(sourceFiles.load(new Name("ns.A")))
+                .get()
+                .extracting(Object::toString)
+                .isEqualTo(source.toString());
+        Assertions.assertThat(sourceFiles.load(new Name("outer.inner.ns.A")))
+                .get()
+                .extracting(Object::toString)
+                .isEqualTo(source.toString());
+        Assertions.assertThat(sourceFiles.sources())
+                .containsExactly(new SourceFile("ns", source));
+    }
+
+    @Test
+    void refresh(@TempDir Path root) throws IOException {
+        Files.createFile(root.resolve(".throot"));
+        SourceFiles sourceFiles = new SourceFiles(root);
+
+        Assertions.assertThat(sourceFiles.sources())
+                .isEmpty();
+
+        Files.createFile(root.resolve("A.th"));
+
+        Assertions.assertThat(sourceFiles.load(new Name("A")))
+                .isEmpty();
+
+        sourceFiles.refresh();
+
+        Assertions.assertThat(sourceFiles.load(new Name("A")))
+                .isPresent();
+        Assertions.assertThat(sourceFiles.sources())
+                .hasSize(1);
+    }
+
+    @Test
+    void watch(@TempDir Path root) throws IOException, InterruptedException {
+        Files.createFile(root.resolve(".throot"));
+        SourceFiles sourceFiles = new SourceFiles(root);
+
+        try (Closeable ignored = sourceFiles.watch()) {
+            Assertions.assertThat(sourceFiles.sources())
+                    .isEmpty();
+
+            Files.createFile(root.resolve("A.th"));
+
+            for (int i = 0; i < 100 && !sourceFiles.load(new Name("A")).isPresent(); i++) {
+                Thread.sleep(100);
+            }
+
+            Assertions.assertThat(sourceFiles.load(new Name("A")))
+                    .isPresent();
+        }
+    }
 }
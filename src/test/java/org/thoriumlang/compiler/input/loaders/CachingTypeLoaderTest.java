@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.input.loaders;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thoriumlang.compiler.ast.nodes.Node;
+import org.thoriumlang.compiler.input.Source;
+import org.thoriumlang.compiler.input.Sources;
+import org.thoriumlang.compiler.symbols.Name;
+import org.thoriumlang.compiler.symbols.Symbol;
+import org.thoriumlang.compiler.symbols.ThoriumLibType;
+import org.thoriumlang.compiler.testsupport.NodeStub;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+class CachingTypeLoaderTest {
+    private final Node node = new NodeStub();
+    private CountingTypeLoader sourcesLoader;
+    private CountingTypeLoader runtimeLoader;
+    private TypeLoaderCache cache;
+
+    @BeforeEach
+    void setup() {
+        sourcesLoader = new CountingTypeLoader("ns.A", true);
+        runtimeLoader = new CountingTypeLoader("rt.B", false);
+        cache = new TypeLoaderCache();
+    }
+
+    private CachingTypeLoader typeLoader() {
+        return new CachingTypeLoader(cache, Arrays.asList(sourcesLoader, runtimeLoader));
+    }
+
+    @Test
+    void load_found() {
+        Assertions.assertThat(typeLoader().load(Name.of("rt.B"), node))
+                .get()
+                .extracting(Object::toString)
+                .isEqualTo("(th-rt: rt.B)");
+        Assertions.assertThat(typeLoader().load(Name.of("rt.B"), node))
+                .isPresent();
+
+        Assertions.assertThat(sourcesLoader.calls)
+                .isEqualTo(1);
+        Assertions.assertThat(runtimeLoader.calls)
+                .isEqualTo(2);
+        Assertions.assertThat(cache.statistics().getHits())
+                .isEqualTo(1);
+        Assertions.assertThat(cache.statistics().getMisses())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void load_triggerNode() {
+        Node otherNode = new NodeStub();
+        typeLoader().load(Name.of("rt.B"), node);
+
+        Assertions.assertThat(typeLoader().load(Name.of("rt.B"), otherNode))
+                .get()
+                .extracting(Symbol::getDefiningNode)
+                .isSameAs(otherNode);
+    }
+
+    @Test
+    void load_notFound() {
+        Assertions.assertThat(typeLoader().load(Name.of("rt.Unknown"), node))
+                .isEmpty();
+        Assertions.assertThat(typeLoader().load(Name.of("rt.Unknown"), node))
+                .isEmpty();
+
+        Assertions.assertThat(sourcesLoader.calls)
+                .isEqualTo(1);
+        Assertions.assertThat(runtimeLoader.calls)
+                .isEqualTo(1);
+        Assertions.assertThat(cache.statistics().getNegativeHits())
+                .isEqualTo(1);
+        Assertions.assertThat(cache.statistics().getSize())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void load_stale() {
+        typeLoader().load(Name.of("rt.B"), node);
+        runtimeLoader.name = "other";
+        sourcesLoader.name = "rt.B";
+
+        Assertions.assertThat(typeLoader().load(Name.of("rt.B"), node))
+                .isPresent();
+        Assertions.assertThat(sourcesLoader.calls)
+                .isEqualTo(2);
+    }
+
+    @Test
+    void invalidate() {
+        typeLoader().load(Name.of("ns.A"), node);
+        typeLoader().load(Name.of("rt.B"), node);
+        typeLoader().load(Name.of("rt.C"), node);
+
+        cache.invalidate(sources());
+
+        Assertions.assertThat(cache.statistics().getSize())
+                .isEqualTo(1);
+        typeLoader().load(Name.of("rt.B"), node);
+        Assertions.assertThat(runtimeLoader.calls)
+                .isEqualTo(3);
+    }
+
+    @Test
+    void invalidate_shadowedBySource() {
+        typeLoader().load(Name.of("rt.B"), node);
+
+        cache.invalidate(sources("rt.B"));
+
+        Assertions.assertThat(cache.statistics().getSize())
+                .isZero();
+    }
+
+    @Test
+    void invalidateAll() {
+        typeLoader().load(Name.of("rt.B"), node);
+
+        cache.invalidateAll();
+
+        Assertions.assertThat(cache.statistics().getSize())
+                .isZero();
+    }
+
+    @Test
+    void bounded() {
+        cache = new TypeLoaderCache(1);
+
+        typeLoader().load(Name.of("ns.A"), node);
+        typeLoader().load(Name.of("rt.B"), node);
+
+        Assertions.assertThat(cache.statistics().getSize())
+                .isEqualTo(1);
+    }
+
+    private Sources sources(String... names) {
+        List<String> definedNames = Arrays.asList(names);
+        return new Sources() {
+            @Override
+            public List<Source> sources() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public Optional<Source> load(Name name) {
+                return definedNames.contains(name.getFullName())
+                        ? Optional.of((nodeIdGenerator, symbolTable, algorithms) -> null)
+                        : Optional.empty();
+            }
+        };
+    }
+
+    private static class CountingTypeLoader implements TypeLoader {
+        private final boolean dependsOnSources;
+        private String name;
+        private int calls;
+
+        private CountingTypeLoader(String name, boolean dependsOnSources) {
+            this.name = name;
+            this.dependsOnSources = dependsOnSources;
+        }
+
+        @Override
+        public Optional<Symbol> load(Name name, Node triggerNode) {
+            calls++;
+            return name.getFullName().equals(this.name)
+                    ? Optional.of(new ThoriumLibType(triggerNode, this.name))
+                    : Optional.empty();
+        }
+
+        @Override
+        public boolean dependsOnSources() {
+            return dependsOnSources;
+        }
+    }
+}
@@ -118,6 +118,11 @@ class ThoriumSrcClassLoaderTest {
                             return this;
                         }
 
+                        @Override
+                        public Optional<Root> declaration() {
+                            return root();
+                        }
+
                         @Override
                         public Optional<Root> root() {
                             Root root = new Root(
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.input.loaders.classfile;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+class ClassFileTest {
+    private final ClassPath classPath = ClassPath.jdk();
+
+    private ClassFile read(String className) {
+        return ClassFile.parse(
+                classPath.read(className)
+                        .orElseThrow(() -> new IllegalStateException(className + " not found"))
+        );
+    }
+
+    @Test
+    void parse_class() {
+        ClassFile classFile = read("java.lang.String");
+
+        Assertions.assertThat(classFile.getName())
+                .isEqualTo("java.lang.String");
+        Assertions.assertThat(classFile.isInterface())
+                .isFalse();
+        Assertions.assertThat(classFile.getSuperName())
+                .hasValue("java.lang.Object");
+        Assertions.assertThat(classFile.getInterfaces())
+                .contains("java.io.Serializable", "java.lang.Comparable", "java.lang.CharSequence");
+        Assertions.assertThat(classFile.getMethods())
+                .contains(new ClassFile.Method("charAt", "(I)C", 0x0001));
+    }
+
+    @Test
+    void parse_interface() {
+        ClassFile classFile = read("java.util.List");
+
+        Assertions.assertThat(classFile.isInterface())
+                .isTrue();
+        Assertions.assertThat(classFile.getInterfaces())
+                .containsExactly("java.util.Collection");
+        Assertions.assertThat(classFile)
+                .hasToString("interface java.util.List");
+    }
+
+    @Test
+    void parse_nestedClass() {
+        ClassFile classFile = read("java.util.Map$Entry");
+
+        Assertions.assertThat(classFile.getName())
+                .isEqualTo("java.util.Map$Entry");
+        Assertions.assertThat(classFile.getCanonicalName())
+                .isEqualTo("java.util.Map.Entry");
+    }
+
+    @Test
+    void parse_object() {
+        Assertions.assertThat(read("java.lang.Object").getSuperName())
+                .isEmpty();
+    }
+
+    @Test
+    void parse_invalid() {
+        Assertions.assertThatThrownBy(() -> ClassFile.parse(new byte[]{1, 2, 3, 4}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("not a class file");
+        Assertions.assertThatThrownBy(() -> ClassFile.parse(new byte[]{(byte) 0xCA, (byte) 0xFE}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("invalid class file");
+    }
+
+    @Test
+    void of_matchesParse() {
+        ClassFile parsed = read("java.util.ArrayList");
+        ClassFile reflected = ClassFile.of(java.util.ArrayList.class);
+
+        Assertions.assertThat(reflected.getName())
+                .isEqualTo(parsed.getName());
+        Assertions.assertThat(reflected.getSuperName())
+                .isEqualTo(parsed.getSuperName());
+        Assertions.assertThat(reflected.getInterfaces())
+                .isEqualTo(parsed.getInterfaces());
+        Assertions.assertThat(reflected.isInterface())
+                .isEqualTo(parsed.isInterface());
+        Assertions.assertThat(signatures(reflected))
+                .containsAllEntriesOf(signatures(parsed).entrySet().stream()
+                        .filter(e -> !e.getKey().startsWith("<") && !e.getKey().startsWith("lambda$"))
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))
+                );
+    }
+
+    private Map<String, String> signatures(ClassFile classFile) {
+        return classFile.getMethods().stream()
+                .filter(m -> !m.isStatic())
+                .collect(Collectors.toMap(
+                        m -> m.getName() + m.getDescriptor(),
+                        ClassFile.Method::getDescriptor,
+                        (a, b) -> a
+                ));
+    }
+}
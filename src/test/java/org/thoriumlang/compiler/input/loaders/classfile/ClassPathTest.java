@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.input.loaders.classfile;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+class ClassPathTest {
+    @Test
+    void jdk() {
+        ClassPath classPath = ClassPath.jdk();
+
+        Assertions.assertThat(classPath.read("java.lang.String"))
+                .isPresent();
+        Assertions.assertThat(classPath.read("java.lang.NonexistentClass"))
+                .isEmpty();
+        Assertions.assertThat(classPath.read("nonexistent.package.Class"))
+                .isEmpty();
+        Assertions.assertThat(classPath.read("NonexistentClass"))
+                .isEmpty();
+        Assertions.assertThat(classPath.classNames())
+                .contains("java.lang.String", "java.util.Map$Entry")
+                .doesNotContain("module-info", "java.lang.package-info");
+    }
+
+    @Test
+    void jar(@TempDir Path directory) throws IOException {
+        byte[] bytes = ClassPath.jdk().read("java.lang.String")
+                .orElseThrow(IllegalStateException::new);
+
+        Path jar = directory.resolve("test.jar");
+        try (OutputStream output = Files.newOutputStream(jar);
+             JarOutputStream jarOutput = new JarOutputStream(output)) {
+            jarOutput.putNextEntry(new ZipEntry("java/lang/String.class"));
+            jarOutput.write(bytes);
+            jarOutput.closeEntry();
+        }
+
+        ClassPath classPath = new JarClassPath(jar);
+
+        Assertions.assertThat(classPath.read("java.lang.String"))
+                .hasValue(bytes);
+        Assertions.assertThat(classPath.read("java.lang.Object"))
+                .isEmpty();
+        Assertions.assertThat(classPath.classNames())
+                .containsExactly("java.lang.String");
+    }
+}
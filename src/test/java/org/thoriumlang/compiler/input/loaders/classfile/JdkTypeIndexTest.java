@@ -0,0 +1,182 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.input.loaders.classfile;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class JdkTypeIndexTest {
+    private static final ClassPath JDK = ClassPath.jdk();
+
+    @TempDir
+    Path directory;
+
+    private static ClassPath classPath(String... classNames) {
+        return new ClassPath() {
+            @Override
+            public Optional<byte[]> read(String className) {
+                return JDK.read(className);
+            }
+
+            @Override
+            public List<String> classNames() {
+                return Arrays.asList(classNames);
+            }
+        };
+    }
+
+    private static ClassPath failingClassPath() {
+        return new ClassPath() {
+            @Override
+            public Optional<byte[]> read(String className) {
+                throw new IllegalStateException("should not be called");
+            }
+
+            @Override
+            public List<String> classNames() {
+                throw new IllegalStateException("should not be called");
+            }
+        };
+    }
+
+    @Test
+    void find() {
+        JdkTypeIndex index = JdkTypeIndex.open(
+                directory.resolve("jdk.index"),
+                classPath("java.lang.String", "java.util.List", "java.util.Map$Entry", "java.util.ArrayList$Itr")
+        );
+
+        Assertions.assertThat(index.size())
+                .isEqualTo(3);
+
+        ClassFile expected = ClassFile.parse(JDK.read("java.lang.String").orElseThrow(IllegalStateException::new));
+        ClassFile actual = index.find("java.lang.String").orElseThrow(IllegalStateException::new);
+
+        Assertions.assertThat(actual.getName())
+                .isEqualTo(expected.getName());
+        Assertions.assertThat(actual.getAccessFlags())
+                .isEqualTo(expected.getAccessFlags());
+        Assertions.assertThat(actual.getSuperName())
+                .isEqualTo(expected.getSuperName());
+        Assertions.assertThat(actual.getInterfaces())
+                .isEqualTo(expected.getInterfaces());
+        Assertions.assertThat(actual.getMethods())
+                .isEqualTo(expected.getMethods().stream()
+                        .filter(ClassFile.Method::isPublic)
+                        .collect(Collectors.toList())
+                );
+
+        Assertions.assertThat(index.find("java.util.List"))
+                .get()
+                .hasToString("interface java.util.List");
+        Assertions.assertThat(index.find("java.util.Map$Entry"))
+                .get()
+                .hasToString("interface java.util.Map.Entry");
+    }
+
+    @Test
+    void find_missing() {
+        JdkTypeIndex index = JdkTypeIndex.open(directory.resolve("jdk.index"), classPath("java.lang.String"));
+
+        Assertions.assertThat(index.find("java.lang.Object"))
+                .isEmpty();
+        Assertions.assertThat(index.find("NonexistentClass"))
+                .isEmpty();
+    }
+
+    @Test
+    void find_notPublic() {
+        JdkTypeIndex index = JdkTypeIndex.open(directory.resolve("jdk.index"), classPath("java.util.ArrayList$Itr"));
+
+        Assertions.assertThat(index.find("java.util.ArrayList$Itr"))
+                .isEmpty();
+    }
+
+    @Test
+    void find_empty() {
+        JdkTypeIndex index = JdkTypeIndex.open(directory.resolve("jdk.index"), classPath());
+
+        Assertions.assertThat(index.size())
+                .isZero();
+        Assertions.assertThat(index.find("java.lang.String"))
+                .isEmpty();
+    }
+
+    @Test
+    void open_existing() {
+        Path file = directory.resolve("jdk.index");
+        JdkTypeIndex.write(file, classPath("java.lang.String"));
+
+        JdkTypeIndex index = JdkTypeIndex.open(file, failingClassPath());
+
+        Assertions.assertThat(index.find("java.lang.String"))
+                .isPresent();
+    }
+
+    @Test
+    void open_corrupted() throws IOException {
+        Path file = directory.resolve("jdk.index");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        JdkTypeIndex index = JdkTypeIndex.open(file, classPath("java.lang.String"));
+
+        Assertions.assertThat(index.find("java.lang.String"))
+                .isPresent();
+    }
+
+    @Test
+    void write_notWritable() throws IOException {
+        Path file = Files.createFile(directory.resolve("file")).resolve("jdk.index");
+
+        Assertions.assertThatThrownBy(() -> JdkTypeIndex.write(file, failingClassPath()))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void write_invalidClassFile() throws IOException {
+        Path file = directory.resolve("jdk.index");
+        ClassPath classPath = new ClassPath() {
+            @Override
+            public Optional<byte[]> read(String className) {
+                return Optional.of(new byte[]{1, 2, 3});
+            }
+
+            @Override
+            public List<String> classNames() {
+                return Collections.singletonList("Invalid");
+            }
+        };
+
+        Assertions.assertThatThrownBy(() -> JdkTypeIndex.write(file, classPath))
+                .isInstanceOf(IllegalArgumentException.class);
+        try (Stream<Path> files = Files.list(directory)) {
+            Assertions.assertThat(files)
+                    .isEmpty();
+        }
+    }
+}
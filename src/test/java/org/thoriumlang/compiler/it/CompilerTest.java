@@ -3,9 +3,13 @@ package org.thoriumlang.compiler.it;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.api.Condition;
 import org.junit.jupiter.api.Test;
+import org.thoriumlang.compiler.api.CompilationContext;
 import org.thoriumlang.compiler.api.Compiler;
+import org.thoriumlang.compiler.api.Event;
 import org.thoriumlang.compiler.api.NoopCompilationListener;
+import org.thoriumlang.compiler.api.PhaseEvent;
 import org.thoriumlang.compiler.api.errors.CompilationError;
+import org.thoriumlang.compiler.ast.metrics.Phase;
 import org.thoriumlang.compiler.collections.Lists;
 import org.thoriumlang.compiler.input.Source;
 import org.thoriumlang.compiler.input.SourceFiles;
@@ -16,6 +20,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class CompilerTest {
     @Test
@@ -180,6 +187,156 @@ public class CompilerTest {
                 .haveAtLeastOne(new Condition<>(s -> s.endsWith("CompilerTest_compile_reusesKnownTopLevels.th"), null));
     }
 
+    @Test
+    void compile_dependencyDeclaredFirst() throws URISyntaxException {
+        SourceFiles sourceFiles = sourceFiles("CompilerTest_compile_reusesKnownTopLevels_1.th");
+
+        List<String> events = new ArrayList<>();
+        Compiler compiler = new Compiler(new NoopCompilationListener() {
+            @Override
+            public void onSourceStarted(Source source) {
+                events.add("started " + source.toString().replaceAll(".*/", ""));
+            }
+
+            @Override
+            public void onSourceFinished(Source source, CompilationContext context) {
+                events.add("finished " + source.toString().replaceAll(".*/", ""));
+            }
+        }, Collections.emptyList());
+
+        compiler.compile(sourceFiles);
+
+        Assertions.assertThat(events)
+                .containsExactly(
+                        "started CompilerTest_compile_reusesKnownTopLevels_1.th",
+                        "finished CompilerTest_compile_reusesKnownTopLevels_1.th",
+                        "started CompilerTest_compile_reusesKnownTopLevels.th",
+                        "finished CompilerTest_compile_reusesKnownTopLevels.th"
+                );
+    }
+
+    @Test
+    void compile_cyclicDependencies() throws URISyntaxException {
+        SourceFiles sourceFiles = sourceFiles(
+                "CompilerTest_compile_cycle_1.th",
+                "CompilerTest_compile_cycle_2.th"
+        );
+
+        List<String> sourceStarted = new ArrayList<>();
+        List<String> compilationErrors = new ArrayList<>();
+        Compiler compiler = new Compiler(new CompilationErrorListener(compilationErrors) {
+            @Override
+            public void onSourceStarted(Source source) {
+                sourceStarted.add(source.toString());
+            }
+        }, Collections.emptyList());
+
+        compiler.compile(sourceFiles);
+
+        Assertions.assertThat(compilationErrors)
+                .isEmpty();
+        Assertions.assertThat(sourceStarted)
+                .hasSize(2)
+                .haveExactly(1, new Condition<>(s -> s.endsWith("CompilerTest_compile_cycle_1.th"), null))
+                .haveExactly(1, new Condition<>(s -> s.endsWith("CompilerTest_compile_cycle_2.th"), null));
+    }
+
+    @Test
+    void compile_parallel() throws URISyntaxException, InterruptedException {
+        SourceFiles sourceFiles = sourceFiles(
+                "CompilerTest_compile_reusesKnownTopLevels_1.th",
+                "CompilerTest_compile_reusesKnownTopLevels_2.th",
+                "CompilerTest_compile_cycle_1.th",
+                "CompilerTest_compile_cycle_2.th"
+        );
+
+        List<String> sourceStarted = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Compiler compiler = new Compiler(
+                new CompilationSourceStartedListener(sourceStarted),
+                Collections.emptyList(),
+                executor
+        );
+
+        try {
+            compiler.compile(
+                    new SourceFiles(
+                            Paths.get(CompilerTest.class.getResource("/org/thoriumlang/compiler/it/").toURI())
+                    ) {
+                        @Override
+                        public List<Source> sources() {
+                            return Lists.merge(sourceFiles.sources(), sourceFiles.sources());
+                        }
+                    }
+            );
+        }
+        finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        Assertions.assertThat(sourceStarted)
+                .hasSize(5)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void compile_phases() throws URISyntaxException {
+        SourceFiles sourceFiles = sourceFiles("CompilerTest_compile_reusesKnownTopLevels.th");
+
+        List<Phase> phases = new ArrayList<>();
+        Compiler compiler = new Compiler(new NoopCompilationListener() {
+            @Override
+            public void onEvent(Event event) {
+                event.payload(PhaseEvent.class).ifPresent(e -> phases.add(e.getPhase()));
+            }
+
+            @Override
+            public boolean measuresPhases() {
+                return true;
+            }
+        }, Collections.emptyList());
+
+        compiler.compile(sourceFiles);
+
+        Assertions.assertThat(phases)
+                .extracting(Phase::getName)
+                .containsExactly(
+                        "lexer",
+                        "parser",
+                        "RootVisitor",
+                        "TypeFlatteningVisitor",
+                        "RelativesInjectionVisitor",
+                        "SymbolTableInitializationVisitor",
+                        "TypeChecker",
+                        "SymbolicNameChecker"
+                );
+        Assertions.assertThat(phases)
+                .allSatisfy(p -> Assertions.assertThat(p.getWallNanos()).isPositive());
+        Assertions.assertThat(phases.get(0).getTokens())
+                .isPositive();
+        Assertions.assertThat(phases.get(2).getNodes())
+                .isPositive();
+    }
+
+    @Test
+    void compile_phasesNotMeasured() throws URISyntaxException {
+        SourceFiles sourceFiles = sourceFiles("CompilerTest_compile_reusesKnownTopLevels.th");
+
+        List<Phase> phases = new ArrayList<>();
+        Compiler compiler = new Compiler(new NoopCompilationListener() {
+            @Override
+            public void onEvent(Event event) {
+                event.payload(PhaseEvent.class).ifPresent(e -> phases.add(e.getPhase()));
+            }
+        }, Collections.emptyList());
+
+        compiler.compile(sourceFiles);
+
+        Assertions.assertThat(phases)
+                .isEmpty();
+    }
+
     private static class CompilationErrorListener extends NoopCompilationListener {
         private final List<String> compilationErrors;
 
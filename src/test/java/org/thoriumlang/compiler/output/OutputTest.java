@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.output;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+
+class OutputTest {
+    @Test
+    void constructor_appendable() {
+        Assertions.assertThatThrownBy(() -> new Output(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("appendable cannot be null");
+    }
+
+    @Test
+    void append_indentsBlocks() {
+        StringBuilder sb = new StringBuilder();
+
+        new Output(sb)
+                .append("a {\n")
+                .indent()
+                .append("b {\n")
+                .indent()
+                .append("c\n\nd")
+                .dedent()
+                .append('\n')
+                .append('}')
+                .dedent()
+                .append("\n}");
+
+        Assertions.assertThat(sb.toString())
+                .isEqualTo("a {\n  b {\n    c\n    \n    d\n  }\n}");
+    }
+
+    @Test
+    void join() {
+        StringBuilder sb = new StringBuilder();
+        Output output = new Output(sb);
+
+        output.join(Arrays.asList("a", "b", "c"), ", ", output::append)
+                .join(Collections.<String>emptyList(), ", ", output::append);
+
+        Assertions.assertThat(sb.toString())
+                .isEqualTo("a, b, c");
+    }
+
+    @Test
+    void dedent_noBlock() {
+        Assertions.assertThatThrownBy(() -> new Output(new StringBuilder()).dedent())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("no block to dedent");
+    }
+
+    @Test
+    void append_ioException() {
+        Writer writer = new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("write");
+            }
+
+            @Override
+            public void flush() {
+                // nothing
+            }
+
+            @Override
+            public void close() {
+                // nothing
+            }
+        };
+
+        Assertions.assertThatThrownBy(() -> new Output(writer).append("a"))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("write");
+    }
+}
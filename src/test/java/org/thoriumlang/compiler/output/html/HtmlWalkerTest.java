@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.output.html;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thoriumlang.compiler.ast.AST;
+import org.thoriumlang.compiler.ast.nodes.NodeIdGenerator;
+import org.thoriumlang.compiler.ast.nodes.Root;
+import org.thoriumlang.compiler.ast.visitor.NodesScanningVisitor;
+import org.thoriumlang.compiler.symbols.SymbolTable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+class HtmlWalkerTest {
+    private static final Pattern SYMBOL_TABLE = Pattern.compile(
+            "<table id=\"symbolTable_node_\\d+\" data-nodeIds=\"([^\"]*)\">"
+    );
+
+    private Root root;
+
+    @BeforeEach
+    void setup() {
+        root = new AST(
+                HtmlWalkerTest.class.getResourceAsStream(
+                        "/org/thoriumlang/compiler/ast/algorithms/symboltable/simple.th"
+                ),
+                "namespace",
+                new NodeIdGenerator(),
+                Collections.emptyList(),
+                new SymbolTable()
+        ).root().orElseThrow(() -> new IllegalStateException("no root found"));
+    }
+
+    @Test
+    void walk_rendersEachSymbolTableOnce() {
+        Map<SymbolTable, Boolean> symbolTables = new IdentityHashMap<>();
+        NodesScanningVisitor.forEach(
+                root,
+                n -> true,
+                n -> symbolTables.put(n.getContext().require(SymbolTable.class), true)
+        );
+
+        String html = new HtmlWalker(root, Collections.emptyMap()).walk();
+
+        Matcher matcher = SYMBOL_TABLE.matcher(html);
+        int tables = 0;
+        int nodes = 0;
+        while (matcher.find()) {
+            tables++;
+            nodes += matcher.group(1).split(" ").length;
+        }
+
+        Assertions.assertThat(tables)
+                .isEqualTo(symbolTables.size());
+        Assertions.assertThat(nodes)
+                .isGreaterThan(tables);
+    }
+
+    @Test
+    void walk_outputStream() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        new HtmlWalker(root, Collections.emptyMap()).walk(outputStream);
+
+        Assertions.assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8))
+                .startsWith("<!DOCTYPE html>")
+                .contains(".toolbar")
+                .contains("HashChangeHook")
+                .containsPattern(SYMBOL_TABLE);
+    }
+
+    @Test
+    void walk_appendable() {
+        StringBuilder sb = new StringBuilder();
+
+        new HtmlWalker(root, Collections.emptyMap()).walk(sb);
+
+        Assertions.assertThat(sb.toString())
+                .startsWith("<!DOCTYPE html>")
+                .containsPattern(SYMBOL_TABLE);
+    }
+
+    @Test
+    void walk_channel(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("out.html");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            new HtmlWalker(root, Collections.emptyMap()).walk(channel, StandardCharsets.UTF_8);
+        }
+
+        Assertions.assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8))
+                .startsWith("<!DOCTYPE html>")
+                .containsPattern(SYMBOL_TABLE);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.output.metrics;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thoriumlang.compiler.api.Compiler;
+import org.thoriumlang.compiler.api.NoopCompilationListener;
+import org.thoriumlang.compiler.input.SourceFiles;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+class PhaseMetricsPluginTest {
+    @Test
+    void constructor() {
+        Assertions.assertThatThrownBy(() -> new PhaseMetricsPlugin(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("directory cannot be null");
+    }
+
+    @Test
+    void onCompilationFinished(@TempDir Path directory) throws URISyntaxException, IOException {
+        new Compiler(
+                new NoopCompilationListener(),
+                Collections.singletonList(new PhaseMetricsPlugin(directory))
+        ).compile(new SourceFiles(
+                Paths.get(PhaseMetricsPluginTest.class.getResource("/org/thoriumlang/compiler/it/").toURI()),
+                p -> p.getFileName().toString().startsWith("CompilerTest_compile_reusesKnownTopLevels")
+        ));
+
+        List<String> summary = Files.readAllLines(
+                directory.resolve(PhaseMetricsPlugin.SUMMARY_FILENAME),
+                StandardCharsets.UTF_8
+        );
+
+        Assertions.assertThat(summary)
+                .hasSize(9);
+        Assertions.assertThat(summary.get(0))
+                .startsWith("phase")
+                .contains("wall (ms)", "cpu (ms)", "alloc (KiB)", "nodes", "tokens");
+        Assertions.assertThat(summary)
+                .anySatisfy(l -> Assertions.assertThat(l).matches("lexer +3 .*"))
+                .anySatisfy(l -> Assertions.assertThat(l).matches("TypeChecker +3 .*"));
+
+        JsonArray traceEvents = JsonParser.parseString(
+                new String(
+                        Files.readAllBytes(directory.resolve(PhaseMetricsPlugin.TRACE_FILENAME)),
+                        StandardCharsets.UTF_8
+                )
+        ).getAsJsonObject().getAsJsonArray("traceEvents");
+
+        Assertions.assertThat(traceEvents)
+                .hasSize(24);
+
+        JsonObject traceEvent = traceEvents.get(0).getAsJsonObject();
+        Assertions.assertThat(traceEvent.get("ph").getAsString())
+                .isEqualTo("X");
+        Assertions.assertThat(traceEvent.getAsJsonObject("args").get("source").getAsString())
+                .contains("CompilerTest_compile_reusesKnownTopLevels");
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 Christophe Pollet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thoriumlang.compiler.output.th;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thoriumlang.compiler.ast.AST;
+import org.thoriumlang.compiler.ast.nodes.NodeIdGenerator;
+import org.thoriumlang.compiler.ast.nodes.Root;
+import org.thoriumlang.compiler.symbols.SymbolTable;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+
+class ThWalkerTest {
+    @Test
+    void walk_channel(@TempDir Path directory) throws IOException {
+        Root root = new AST(
+                ThWalkerTest.class.getResourceAsStream("/org/thoriumlang/compiler/tests/FunctionsAsValues.th"),
+                "namespace",
+                new NodeIdGenerator(),
+                Collections.emptyList(),
+                new SymbolTable()
+        ).root().orElseThrow(() -> new IllegalStateException("no root found"));
+        Path file = directory.resolve("out.th");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            new ThWalker(root).walk(channel, StandardCharsets.UTF_8);
+        }
+
+        Assertions.assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8))
+                .isEqualTo(new ThWalker(root).walk());
+    }
+}
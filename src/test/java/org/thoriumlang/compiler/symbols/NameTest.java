@@ -92,6 +92,32 @@ class NameTest {
                 .hasMessage("packageName cannot be null");
     }
 
+    @Test
+    void of() {
+        Name name = Name.of("a.b.c");
+
+        Assertions.assertThat(Name.of("a.b.c"))
+                .isSameAs(name)
+                .isEqualTo(new Name("a.b.c"));
+        Assertions.assertThat(name.getParts())
+                .containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void of_package() {
+        Assertions.assertThat(Name.of("c", "a.b"))
+                .isSameAs(Name.of("a.b.c"));
+        Assertions.assertThat(Name.of("x.c", "a.b"))
+                .isSameAs(Name.of("x.c"));
+    }
+
+    @Test
+    void of_null() {
+        Assertions.assertThatThrownBy(() -> Name.of(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("fqName cannot be null");
+    }
+
     @TestFactory
     Stream<DynamicTest> examples() {
         return Stream.of(ExternalString.fromClasspath(
@@ -19,6 +19,13 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.thoriumlang.compiler.ast.nodes.Node;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 class SymbolTableTest {
     @Test
     void simpleName() {
@@ -229,6 +236,77 @@ class SymbolTableTest {
                 .isSameAs(childSymbolTable1);
     }
 
+    @Test
+    void find_doesNotCreateScopes() {
+        SymbolTable symbolTable = new SymbolTable();
+
+        symbolTable.find(new Name("a.b.SimpleName"));
+
+        SymbolTableVisitor<Integer> visitor = (name, table, symbols, scopes) -> scopes.size();
+
+        Assertions.assertThat(symbolTable.accept(visitor))
+                .isZero();
+    }
+
+    @Test
+    void find_missingScope() {
+        Symbol symbol = symbol();
+        SymbolTable symbolTable = new SymbolTable();
+        symbolTable.put(new Name("a.SimpleName"), symbol);
+
+        Assertions.assertThat(symbolTable.find(new Name("a.b.c.SimpleName")))
+                .containsExactly(symbol);
+    }
+
+    @Test
+    void createScope_concurrent() {
+        SymbolTable parentSymbolTable = new SymbolTable();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<SymbolTable> scopes = IntStream.range(0, 1000)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(
+                            () -> parentSymbolTable.createScope("namespace"),
+                            executor
+                    ))
+                    .collect(Collectors.toList()).stream()
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toList());
+
+            Assertions.assertThat(scopes)
+                    .allMatch(s -> s == scopes.get(0));
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void put_concurrent() {
+        SymbolTable symbolTable = new SymbolTable();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CompletableFuture.allOf(
+                    IntStream.range(0, 1000)
+                            .mapToObj(i -> CompletableFuture.runAsync(
+                                    () -> {
+                                        symbolTable.put(new Name("ns" + i % 10 + ".Name" + i), symbol());
+                                        symbolTable.put(new Name("ns" + i % 10 + ".method(Object)"), symbol());
+                                    },
+                                    executor
+                            ))
+                            .toArray(CompletableFuture[]::new)
+            ).join();
+
+            Assertions.assertThat(IntStream.range(0, 1000))
+                    .allMatch(i -> symbolTable.find(new Name("ns" + i % 10 + ".Name" + i)).size() == 1);
+            Assertions.assertThat(IntStream.range(0, 10))
+                    .allMatch(i -> symbolTable.find(new Name("ns" + i + ".method(_)")).size() == 100);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     void inScope_name() {
         SymbolTable symbolTable = new SymbolTable();